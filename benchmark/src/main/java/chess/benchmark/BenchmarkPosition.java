@@ -0,0 +1,25 @@
+package chess.benchmark;
+
+import chess.ChessGame;
+
+/**
+ * The positions every benchmark runs against, one from each phase of the game.
+ */
+public enum BenchmarkPosition {
+    OPENING("r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1"),
+    MIDDLEGAME("r2q1rk1/pp1nbppp/2p1pn2/3p2B1/2PP4/2N1PN2/PPQ2PPP/R3KB1R w - - 0 1"),
+    ENDGAME("8/5pk1/6p1/8/8/2r3P1/5PK1/1R6 w - - 0 1");
+
+    private final String fen;
+
+    BenchmarkPosition(String fen) {
+        this.fen = fen;
+    }
+
+    /**
+     * @return a new game set up at this position
+     */
+    public ChessGame newGame() {
+        return ChessGame.fromFen(fen);
+    }
+}
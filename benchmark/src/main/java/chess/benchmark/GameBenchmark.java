@@ -0,0 +1,85 @@
+package chess.benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPosition;
+import chess.GameStatus;
+import chess.MoveList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legality and game status queries for the side to move. validMoves and the
+ * checkmate and stalemate queries are answered from the legal move and status
+ * caches after their first call; legalMoves and gameStatusUncached time the
+ * generation those caches save.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private ChessGame game;
+    private ChessGame.TeamColor turn;
+    private List<ChessPosition> ownPieces;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        game = position.newGame();
+        turn = game.getTeamTurn();
+        ownPieces = game.getBoard().getPositions(turn);
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        for (ChessPosition square : ownPieces) {
+            blackhole.consume(game.validMoves(square));
+        }
+    }
+
+    @Benchmark
+    public MoveList legalMoves() {
+        moves.clear();
+        game.legalMoves(turn, moves);
+        return moves;
+    }
+
+    /*
+     * A new game has an empty status cache, and nothing in this benchmark fills
+     * the shared legal move cache, so the status is worked out on every call.
+     * The board copy is timed on its own by deepCopy.
+     */
+    @Benchmark
+    public GameStatus gameStatusUncached() {
+        return new ChessGame(game.getBoard().deepCopy(), turn).getGameStatus();
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return game.isInCheck(turn);
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(turn);
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return game.isInStalemate(turn);
+    }
+
+    @Benchmark
+    public ChessBoard deepCopy() {
+        return game.getBoard().deepCopy();
+    }
+}
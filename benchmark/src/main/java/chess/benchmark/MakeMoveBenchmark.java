@@ -0,0 +1,71 @@
+package chess.benchmark;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import chess.MoveList;
+import chess.MoveUndo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChessGame.makeMove, including its legality check, and the unchecked
+ * make/unmake pair the search uses. After its first call makeMove finds the
+ * position's legal moves in the shared cache, so makeMoveUncached times the
+ * same check against freshly generated moves. Each call takes its move back again, so the
+ * game is the same for every call and needs no per-call setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeMoveBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    private ChessGame game;
+    private ChessMove move;
+    private MoveUndo undo;
+    private final MoveList legal = new MoveList();
+
+    @Setup
+    public void setUp() {
+        game = position.newGame();
+        MoveList moves = new MoveList();
+        game.legalMoves(game.getTeamTurn(), moves);
+        move = ChessMove.decode(moves.get(moves.size() / 2));
+        // An undo record holds no state of its own, so one taken here undoes every later makeMove
+        undo = game.makeMoveUnchecked(move);
+        game.unmakeMove(undo);
+    }
+
+    @Benchmark
+    public ChessGame makeMove() throws InvalidMoveException {
+        game.makeMove(move);
+        game.unmakeMove(undo);
+        return game;
+    }
+
+    @Benchmark
+    public ChessGame makeMoveUncached() throws InvalidMoveException {
+        legal.clear();
+        game.legalMoves(game.getTeamTurn(), legal);
+        int encoded = move.encode();
+        for (int i = 0; i < legal.size(); i++) {
+            if (legal.get(i) == encoded) {
+                game.unmakeMove(game.makeMoveUnchecked(move));
+                return game;
+            }
+        }
+        throw new InvalidMoveException("Illegal move");
+    }
+
+    @Benchmark
+    public ChessGame makeUnmake() {
+        game.unmakeMove(game.makeMoveUnchecked(move));
+        return game;
+    }
+}
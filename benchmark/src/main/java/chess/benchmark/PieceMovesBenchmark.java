@@ -0,0 +1,56 @@
+package chess.benchmark;
+
+import chess.ChessBoard;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pseudo-legal move generation for every piece of one type, both colors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+    @Param
+    public BenchmarkPosition position;
+
+    @Param
+    public ChessPiece.PieceType pieceType;
+
+    private ChessBoard board;
+    private ChessPosition[] squares;
+    private ChessPiece[] pieces;
+
+    @Setup
+    public void setUp() {
+        board = position.newGame().getBoard();
+        List<ChessPosition> found = new ArrayList<>();
+        for (ChessPosition square : board.getAllPositions()) {
+            ChessPiece piece = board.getPiece(square);
+            if (piece != null && piece.getPieceType() == pieceType) {
+                found.add(square);
+            }
+        }
+        squares = found.toArray(new ChessPosition[0]);
+        pieces = new ChessPiece[squares.length];
+        for (int i = 0; i < squares.length; i++) {
+            pieces[i] = board.getPiece(squares[i]);
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Blackhole blackhole) {
+        for (int i = 0; i < pieces.length; i++) {
+            blackhole.consume(pieces[i].pieceMoves(board, squares[i]));
+        }
+    }
+}
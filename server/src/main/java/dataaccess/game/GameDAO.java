@@ -1,5 +1,6 @@
 package dataaccess.game;
 
+import chess.ChessMove;
 import dataaccess.DataAccessException;
 import model.GameData;
 
@@ -9,6 +10,37 @@ public interface GameDAO {
     GameData createGame(GameData game) throws DataAccessException;
     GameData getGame(int gameID) throws DataAccessException;
     List<GameData> listGames() throws DataAccessException;
+
+    /**
+     * Replaces a game's players and board. The board must be one the game has
+     * reached through its recorded moves since it was last given a board, such
+     * as the board returned by {@link #getGame(int)}; to change only the players
+     * use {@link #updatePlayers}.
+     *
+     * @throws DataAccessException if the game does not exist or the board is not
+     *                             one its recorded moves reach
+     */
     void updateGame(GameData game) throws DataAccessException;
+
+    /**
+     * Sets a game's players, leaving its board and move history untouched
+     */
+    void updatePlayers(int gameID, String whiteUsername, String blackUsername) throws DataAccessException;
+
+    /**
+     * Records a move played in a game, after which {@link #getGame(int)} returns
+     * the game with the move played. The move is checked against the game's
+     * current position and rejected if it is not legal there. It is not played
+     * on any ChessGame the caller holds.
+     *
+     * @throws DataAccessException if the game does not exist or the move is not legal
+     */
+    void appendMove(int gameID, ChessMove move) throws DataAccessException;
+
+    /**
+     * @return every move appended to the game, in the order they were played
+     */
+    List<ChessMove> listMoves(int gameID) throws DataAccessException;
+
     void clear() throws DataAccessException;
 }
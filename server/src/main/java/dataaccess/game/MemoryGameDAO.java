@@ -1,5 +1,8 @@
 package dataaccess.game;
 
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
 import dataaccess.DataAccessException;
 import model.GameData;
 
@@ -8,15 +11,28 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 
+/**
+ * Keeps games in memory. Games are copied on the way in and out, as they would
+ * be by a database, so a ChessGame held by a caller is never changed by the DAO.
+ * Like {@link SQLGameDAO}, each game keeps the board it was last given with the
+ * ply that board is at, and {@link #updateGame} only accepts a board reached
+ * from there through the recorded moves.
+ */
 public class MemoryGameDAO implements GameDAO {
     private final Map<Integer, GameData> store = new HashMap<>();
+    private final Map<Integer, List<ChessMove>> moves = new HashMap<>();
+    private final Map<Integer, ChessGame> snapshots = new HashMap<>();
+    private final Map<Integer, Integer> snapshotPlies = new HashMap<>();
     private int nextId = 1;
 
     @Override
     public GameData createGame(GameData game) {
         int id = nextId++;
         GameData withId = new GameData(id, game.whiteUsername(), game.blackUsername(), game.gameName(), game.game());
-        store.put(id, withId);
+        store.put(id, copyOf(withId));
+        moves.put(id, new ArrayList<>());
+        snapshots.put(id, copyOf(game.game()));
+        snapshotPlies.put(id, 0);
         return withId;
     }
 
@@ -26,12 +42,16 @@ public class MemoryGameDAO implements GameDAO {
         if (g == null) {
             throw new DataAccessException("Game not found: " + gameID);
         }
-        return g;
+        return copyOf(g);
     }
 
     @Override
     public List<GameData> listGames() {
-        return new ArrayList<>(store.values());
+        List<GameData> list = new ArrayList<>();
+        for (GameData g : store.values()) {
+            list.add(copyOf(g));
+        }
+        return list;
     }
 
     @Override
@@ -40,12 +60,73 @@ public class MemoryGameDAO implements GameDAO {
         if (!store.containsKey(id)) {
             throw new DataAccessException("Cannot update, game not found: " + id);
         }
-        store.put(id, game);
+
+        List<ChessMove> history = moves.get(id);
+        int snapshotPly = snapshotPlies.get(id);
+        ChessGame replayed = copyOf(snapshots.get(id));
+        int matchedPly = replayed.equals(game.game()) ? snapshotPly : -1;
+        for (int ply = snapshotPly; ply < history.size(); ply++) {
+            replayed.makeMoveUnchecked(history.get(ply));
+            if (replayed.equals(game.game())) {
+                matchedPly = ply + 1;
+            }
+        }
+        if (matchedPly < 0) {
+            throw new DataAccessException("Cannot update, board does not match the move history of game: " + id);
+        }
+
+        store.put(id, copyOf(game));
+        snapshots.put(id, copyOf(game.game()));
+        snapshotPlies.put(id, matchedPly);
+    }
+
+    @Override
+    public void updatePlayers(int gameID, String whiteUsername, String blackUsername) throws DataAccessException {
+        GameData g = store.get(gameID);
+        if (g == null) {
+            throw new DataAccessException("Cannot update, game not found: " + gameID);
+        }
+        store.put(gameID, new GameData(gameID, whiteUsername, blackUsername, g.gameName(), g.game()));
+    }
+
+    @Override
+    public void appendMove(int gameID, ChessMove move) throws DataAccessException {
+        GameData g = store.get(gameID);
+        if (g == null) {
+            throw new DataAccessException("Cannot append move, game not found: " + gameID);
+        }
+        // The stored copy stands in for the SQL snapshot and journal replay
+        try {
+            g.game().makeMove(move);
+        } catch (InvalidMoveException e) {
+            throw new DataAccessException("Error appending move: " + e.getMessage(), e);
+        }
+        moves.get(gameID).add(move);
+    }
+
+    @Override
+    public List<ChessMove> listMoves(int gameID) throws DataAccessException {
+        List<ChessMove> history = moves.get(gameID);
+        if (history == null) {
+            throw new DataAccessException("Game not found: " + gameID);
+        }
+        return new ArrayList<>(history);
     }
 
     @Override
     public void clear() {
         store.clear();
+        moves.clear();
+        snapshots.clear();
+        snapshotPlies.clear();
         nextId = 1;
     }
+
+    private static GameData copyOf(GameData g) {
+        return new GameData(g.gameID(), g.whiteUsername(), g.blackUsername(), g.gameName(), copyOf(g.game()));
+    }
+
+    private static ChessGame copyOf(ChessGame game) {
+        return new ChessGame(game.getBoard().deepCopy(), game.getTeamTurn());
+    }
 }
@@ -1,7 +1,11 @@
 package dataaccess.game;
 
 import chess.ChessGame;
+import chess.ChessGameCodec;
+import chess.ChessMove;
+import chess.InvalidMoveException;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import dataaccess.DatabaseManager;
 import dataaccess.DataAccessException;
 import model.GameData;
@@ -12,8 +16,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Stores games in MySQL. Moves are journaled one small row at a time in
+ * {@code game_moves} rather than by rewriting the game; the {@code state} column
+ * holds a snapshot of the board as it stood after {@code snapshot_ply} moves, and
+ * a game is loaded by replaying the moves played since then on top of it.
+ * <p>
+ * Every {@code snapshotInterval} plies the append also rewrites the snapshot, so
+ * loading a game never replays more than that many moves however long it runs.
+ */
 public class SQLGameDAO implements GameDAO {
     private static final String[] CREATE_STATEMENTS = {
         """
@@ -22,17 +39,44 @@ public class SQLGameDAO implements GameDAO {
           white_username VARCHAR(50),
           black_username VARCHAR(50),
           game_name VARCHAR(255) NOT NULL,
-          state_json TEXT NOT NULL,
+          state BLOB NOT NULL,
+          move_count INT NOT NULL DEFAULT 0,
+          snapshot_ply INT NOT NULL DEFAULT 0,
           PRIMARY KEY (id),
           FOREIGN KEY (white_username) REFERENCES users(username) ON DELETE SET NULL,
           FOREIGN KEY (black_username) REFERENCES users(username) ON DELETE SET NULL
         ) 
+        """,
+        """
+        CREATE TABLE IF NOT EXISTS game_moves (
+          game_id INT NOT NULL,
+          ply INT NOT NULL,
+          move SMALLINT NOT NULL,
+          PRIMARY KEY (game_id, ply),
+          FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE
+        )
         """
     };
 
-    private final Gson gson = new Gson();
+    /**
+     * Plies between snapshots when none is given
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 32;
+
+    private final int snapshotInterval;
 
     public SQLGameDAO() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * @param snapshotInterval number of moves appended between snapshots of the game
+     */
+    public SQLGameDAO(int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be at least 1: " + snapshotInterval);
+        }
+        this.snapshotInterval = snapshotInterval;
         try {
             configureDatabase();
         } catch (DataAccessException e) {
@@ -48,15 +92,79 @@ public class SQLGameDAO implements GameDAO {
                     ps.executeUpdate();
                 }
             }
+            migrate(conn);
         } catch (SQLException e) {
             throw new DataAccessException("Unable to configure games table: " + e.getMessage(), e);
         }
     }
 
+    /*
+     * Brings a games table created by an earlier version up to date: adds the
+     * journal counters, and converts games stored as Gson JSON in state_json to
+     * the binary state column. Each step checks what is already there, so a
+     * migration that was interrupted is finished on the next start.
+     */
+    private static void migrate(Connection conn) throws SQLException, DataAccessException {
+        Set<String> columns = new HashSet<>();
+        String columnsSql = "SELECT column_name FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'games'";
+        try (PreparedStatement ps = conn.prepareStatement(columnsSql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                columns.add(rs.getString(1).toLowerCase());
+            }
+        }
+
+        if (!columns.contains("move_count")) {
+            execute(conn, "ALTER TABLE games ADD COLUMN move_count INT NOT NULL DEFAULT 0");
+        }
+        if (!columns.contains("snapshot_ply")) {
+            execute(conn, "ALTER TABLE games ADD COLUMN snapshot_ply INT NOT NULL DEFAULT 0");
+        }
+        if (!columns.contains("state_json")) {
+            return;
+        }
+        if (!columns.contains("state")) {
+            execute(conn, "ALTER TABLE games ADD COLUMN state BLOB NULL AFTER state_json");
+        }
+
+        Gson gson = new Gson();
+        String selectSql = "SELECT id, state_json FROM games WHERE state IS NULL";
+        String updateSql = "UPDATE games SET state = ? WHERE id = ?";
+        try (PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement update = conn.prepareStatement(updateSql);
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                ChessGame legacy;
+                try {
+                    legacy = gson.fromJson(rs.getString("state_json"), ChessGame.class);
+                } catch (JsonParseException e) {
+                    throw new DataAccessException("Unable to migrate game " + id + ": " + e.getMessage(), e);
+                }
+                if (legacy == null || legacy.getBoard() == null || legacy.getTeamTurn() == null) {
+                    throw new DataAccessException("Unable to migrate game " + id + ": no game stored");
+                }
+                ChessGame cg = new ChessGame(legacy.getBoard(), legacy.getTeamTurn());
+                update.setBytes(1, ChessGameCodec.encode(cg));
+                update.setInt(2, id);
+                update.executeUpdate();
+            }
+        }
+        execute(conn, "ALTER TABLE games MODIFY COLUMN state BLOB NOT NULL");
+        execute(conn, "ALTER TABLE games DROP COLUMN state_json");
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.executeUpdate();
+        }
+    }
+
     @Override
     public GameData createGame(GameData game) throws DataAccessException {
-        String sql = "INSERT INTO games (white_username, black_username, game_name, state_json) VALUES (?, ?, ?, ?)";
-        String json = gson.toJson(game.game());
+        String sql = "INSERT INTO games (white_username, black_username, game_name, state) VALUES (?, ?, ?, ?)";
+        byte[] state = ChessGameCodec.encode(game.game());
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
             if (game.whiteUsername() != null) {
@@ -70,7 +178,7 @@ public class SQLGameDAO implements GameDAO {
                 ps.setNull(2, Types.VARCHAR);
             }
             ps.setString(3, game.gameName());
-            ps.setString(4, json);
+            ps.setBytes(4, state);
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
@@ -86,41 +194,63 @@ public class SQLGameDAO implements GameDAO {
 
     @Override
     public GameData getGame(int gameID) throws DataAccessException {
-        String sql = "SELECT id, white_username, black_username, game_name, state_json FROM games WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, gameID);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    ChessGame cg = gson.fromJson(rs.getString("state_json"), ChessGame.class);
-                    return new GameData(
-                            rs.getInt("id"),
-                            rs.getString("white_username"),
-                            rs.getString("black_username"),
-                            rs.getString("game_name"), cg);
+        String sql = "SELECT id, white_username, black_username, game_name, state, snapshot_ply FROM games WHERE id = ?";
+        GameData game = null;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            beginConsistentRead(conn);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, gameID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        ChessGame cg = load(conn, gameID, rs.getBytes("state"), rs.getInt("snapshot_ply"));
+                        game = new GameData(
+                                rs.getInt("id"),
+                                rs.getString("white_username"),
+                                rs.getString("black_username"),
+                                rs.getString("game_name"), cg);
+                    }
                 }
             }
+            conn.commit();
         } catch (SQLException e) {
             throw new DataAccessException("Error retrieving game: " + e.getMessage(), e);
         }
-        throw new DataAccessException("Game not found: " + gameID);
+        if (game == null) {
+            throw new DataAccessException("Game not found: " + gameID);
+        }
+        return game;
     }
 
     @Override
     public List<GameData> listGames() throws DataAccessException {
         List<GameData> list = new ArrayList<>();
-        String sql = "SELECT id, white_username, black_username, game_name, state_json FROM games";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                ChessGame cg = gson.fromJson(rs.getString("state_json"), ChessGame.class);
-                list.add(
-                        new GameData(rs.getInt("id"),
-                        rs.getString("white_username"),
-                        rs.getString("black_username"),
-                        rs.getString("game_name"), cg));
+        String sql = "SELECT id, white_username, black_username, game_name, state FROM games";
+        String movesSql = """
+                SELECT m.game_id, m.move FROM game_moves m JOIN games g ON g.id = m.game_id
+                WHERE m.ply > g.snapshot_ply ORDER BY m.game_id, m.ply
+                """;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            beginConsistentRead(conn);
+            Map<Integer, ChessGame> games = new HashMap<>();
+            try (PreparedStatement ps = conn.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ChessGame cg = decode(rs.getInt("id"), rs.getBytes("state"));
+                    games.put(rs.getInt("id"), cg);
+                    list.add(
+                            new GameData(rs.getInt("id"),
+                            rs.getString("white_username"),
+                            rs.getString("black_username"),
+                            rs.getString("game_name"), cg));
+                }
             }
+            try (PreparedStatement ps = conn.prepareStatement(movesSql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    replay(games.get(rs.getInt("game_id")), rs.getInt("move"));
+                }
+            }
+            conn.commit();
         } catch (SQLException e) {
             throw new DataAccessException("Error listing games: " + e.getMessage(), e);
         }
@@ -129,31 +259,169 @@ public class SQLGameDAO implements GameDAO {
 
     @Override
     public void updateGame(GameData game) throws DataAccessException {
-        String sql = "UPDATE games SET white_username = ?, black_username = ?, state_json = ? WHERE id = ?";
-        String json = gson.toJson(game.game());
+        String lockSql = "SELECT state, snapshot_ply FROM games WHERE id = ? FOR UPDATE";
+        String movesSql = "SELECT ply, move FROM game_moves WHERE game_id = ? AND ply > ? ORDER BY ply";
+        String sql = "UPDATE games SET white_username = ?, black_username = ?, state = ?, snapshot_ply = ? WHERE id = ?";
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Find the latest ply whose position is the one given, with the row
+                // locked so no move can be appended while the snapshot is moved there
+                int matchedPly = -1;
+                try (PreparedStatement ps = conn.prepareStatement(lockSql)) {
+                    ps.setInt(1, game.gameID());
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new DataAccessException("Cannot update, game not found: " + game.gameID());
+                        }
+                        ChessGame cg = decode(game.gameID(), rs.getBytes("state"));
+                        int snapshotPly = rs.getInt("snapshot_ply");
+                        if (cg.equals(game.game())) {
+                            matchedPly = snapshotPly;
+                        }
+                        try (PreparedStatement moves = conn.prepareStatement(movesSql)) {
+                            moves.setInt(1, game.gameID());
+                            moves.setInt(2, snapshotPly);
+                            try (ResultSet mrs = moves.executeQuery()) {
+                                while (mrs.next()) {
+                                    replay(cg, mrs.getInt("move"));
+                                    if (cg.equals(game.game())) {
+                                        matchedPly = mrs.getInt("ply");
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+                if (matchedPly < 0) {
+                    throw new DataAccessException("Cannot update, board does not match the move history of game: "
+                            + game.gameID());
+                }
+
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    setUsername(ps, 1, game.whiteUsername());
+                    setUsername(ps, 2, game.blackUsername());
+                    ps.setBytes(3, ChessGameCodec.encode(game.game()));
+                    ps.setInt(4, matchedPly);
+                    ps.setInt(5, game.gameID());
+                    ps.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException | DataAccessException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error updating game: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void updatePlayers(int gameID, String whiteUsername, String blackUsername) throws DataAccessException {
+        String sql = "UPDATE games SET white_username = ?, black_username = ? WHERE id = ?";
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
-            if (game.whiteUsername() != null) {
-                ps.setString(1, game.whiteUsername());
-            } else {
-                ps.setNull(1, Types.VARCHAR);
-            }
-            if (game.blackUsername() != null) {
-                ps.setString(2, game.blackUsername());
-            } else {
-                ps.setNull(2, Types.VARCHAR);
-            }
-            ps.setString(3, json);
-            ps.setInt(4, game.gameID());
+            setUsername(ps, 1, whiteUsername);
+            setUsername(ps, 2, blackUsername);
+            ps.setInt(3, gameID);
             int rows = ps.executeUpdate();
             if (rows == 0) {
-                throw new DataAccessException("Cannot update, game not found: " + game.gameID());
+                throw new DataAccessException("Cannot update, game not found: " + gameID);
             }
         } catch (SQLException e) {
             throw new DataAccessException("Error updating game: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public void appendMove(int gameID, ChessMove move) throws DataAccessException {
+        String countSql = "UPDATE games SET move_count = move_count + 1 WHERE id = ?";
+        String plySql = "SELECT move_count, state, snapshot_ply FROM games WHERE id = ?";
+        String snapshotSql = "UPDATE games SET state = ?, snapshot_ply = ? WHERE id = ?";
+        String insertSql = "INSERT INTO game_moves (game_id, ply, move) VALUES (?, ?, ?)";
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Bumping the count first locks the game's row, so concurrent
+                // appends to one game are given consecutive plies
+                try (PreparedStatement ps = conn.prepareStatement(countSql)) {
+                    ps.setInt(1, gameID);
+                    if (ps.executeUpdate() == 0) {
+                        throw new DataAccessException("Cannot append move, game not found: " + gameID);
+                    }
+                }
+                int ply;
+                byte[] state;
+                int snapshotPly;
+                try (PreparedStatement ps = conn.prepareStatement(plySql)) {
+                    ps.setInt(1, gameID);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        ply = rs.getInt("move_count");
+                        state = rs.getBytes("state");
+                        snapshotPly = rs.getInt("snapshot_ply");
+                    }
+                }
+                // Checked against the game as journaled so far, which the row lock
+                // keeps from changing until this transaction ends
+                ChessGame cg = load(conn, gameID, state, snapshotPly);
+                try {
+                    cg.makeMove(move);
+                } catch (InvalidMoveException e) {
+                    throw new DataAccessException("Error appending move: " + e.getMessage(), e);
+                }
+                try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+                    ps.setInt(1, gameID);
+                    ps.setInt(2, ply);
+                    ps.setInt(3, move.encode());
+                    ps.executeUpdate();
+                }
+                if (ply - snapshotPly >= snapshotInterval) {
+                    try (PreparedStatement ps = conn.prepareStatement(snapshotSql)) {
+                        ps.setBytes(1, ChessGameCodec.encode(cg));
+                        ps.setInt(2, ply);
+                        ps.setInt(3, gameID);
+                        ps.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | DataAccessException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error appending move: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ChessMove> listMoves(int gameID) throws DataAccessException {
+        String existsSql = "SELECT 1 FROM games WHERE id = ?";
+        String sql = "SELECT move FROM game_moves WHERE game_id = ? ORDER BY ply";
+        List<ChessMove> moves = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(existsSql)) {
+                ps.setInt(1, gameID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new DataAccessException("Game not found: " + gameID);
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, gameID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        moves.add(ChessMove.decode(rs.getInt("move")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error listing moves: " + e.getMessage(), e);
+        }
+        return moves;
+    }
+
     @Override
     public void clear() throws DataAccessException {
         String sql = "DELETE FROM games";
@@ -164,4 +432,57 @@ public class SQLGameDAO implements GameDAO {
             throw new DataAccessException("Error clearing games: " + e.getMessage(), e);
         }
     }
+
+    /*
+     * Starts a transaction in which every read sees the database as it stood at
+     * the first one, so a snapshot taken meanwhile cannot split a game's state
+     * from the moves that follow it
+     */
+    private static void beginConsistentRead(Connection conn) throws SQLException {
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        conn.setAutoCommit(false);
+    }
+
+    /*
+     * Rebuilds a game from its snapshot and the moves journaled after it
+     */
+    private static ChessGame load(Connection conn, int gameID, byte[] state, int snapshotPly)
+            throws SQLException, DataAccessException {
+        String sql = "SELECT move FROM game_moves WHERE game_id = ? AND ply > ? ORDER BY ply";
+        ChessGame cg = decode(gameID, state);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, gameID);
+            ps.setInt(2, snapshotPly);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    replay(cg, rs.getInt("move"));
+                }
+            }
+        }
+        return cg;
+    }
+
+    private static void setUsername(PreparedStatement ps, int index, String username) throws SQLException {
+        if (username != null) {
+            ps.setString(index, username);
+        } else {
+            ps.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    private static ChessGame decode(int gameID, byte[] state) throws DataAccessException {
+        try {
+            return ChessGameCodec.decode(state);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Error decoding game " + gameID + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void replay(ChessGame game, int move) throws DataAccessException {
+        try {
+            game.makeMove(ChessMove.decode(move));
+        } catch (InvalidMoveException e) {
+            throw new DataAccessException("Error replaying game: " + e.getMessage(), e);
+        }
+    }
 }
@@ -111,6 +111,6 @@ public class GameService {
             }
             default -> throw new DataAccessException("bad request");
         }
-        gameDao.updateGame(updated);
+        gameDao.updatePlayers(updated.gameID(), updated.whiteUsername(), updated.blackUsername());
     }
 }
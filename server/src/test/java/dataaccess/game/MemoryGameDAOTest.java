@@ -0,0 +1,108 @@
+package dataaccess.game;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import dataaccess.DataAccessException;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryGameDAOTest {
+    private static final ChessMove E4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+    private static final ChessMove E5 = new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null);
+
+    private MemoryGameDAO gameDao;
+
+    @BeforeEach
+    void setUp() {
+        gameDao = new MemoryGameDAO();
+    }
+
+    @Test
+    void appendMoveIsPlayedOnLoad() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g1", new ChessGame())).gameID();
+        gameDao.appendMove(id, E4);
+        gameDao.appendMove(id, E5);
+
+        ChessGame expected = new ChessGame();
+        expected.makeMove(E4);
+        expected.makeMove(E5);
+        assertEquals(expected, gameDao.getGame(id).game());
+        assertEquals(List.of(E4, E5), gameDao.listMoves(id));
+    }
+
+    @Test
+    void appendMoveAfterPlayingItLocally() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g2", new ChessGame()));
+        ChessGame game = original.game();
+        game.makeMove(E4);
+        gameDao.appendMove(original.gameID(), E4);
+        game.makeMove(E5);
+        gameDao.appendMove(original.gameID(), E5);
+
+        assertEquals(game, gameDao.getGame(original.gameID()).game());
+    }
+
+    @Test
+    void appendMoveRejectsIllegalMoves() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g4", new ChessGame())).gameID();
+        ChessMove illegal = new ChessMove(new ChessPosition(2, 5), new ChessPosition(5, 5), null);
+        assertThrows(DataAccessException.class, () -> gameDao.appendMove(id, illegal));
+        assertThrows(DataAccessException.class, () -> gameDao.appendMove(id, E5));
+
+        assertTrue(gameDao.listMoves(id).isEmpty());
+        assertEquals(new ChessGame(), gameDao.getGame(id).game());
+    }
+
+    @Test
+    void appendMoveNotFoundFails() {
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.appendMove(9999, E4)
+        );
+        assertTrue(ex.getMessage().startsWith("Cannot append move"));
+    }
+
+    @Test
+    void updatePlayersKeepsMoves() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g3", new ChessGame())).gameID();
+        gameDao.appendMove(id, E4);
+        gameDao.updatePlayers(id, "u1", null);
+
+        GameData fetched = gameDao.getGame(id);
+        assertEquals("u1", fetched.whiteUsername());
+        assertEquals(ChessGame.TeamColor.BLACK, fetched.game().getTeamTurn());
+    }
+
+    @Test
+    void updateGameFollowsHistory() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g5", new ChessGame()));
+        gameDao.appendMove(original.gameID(), E4);
+        GameData current = gameDao.getGame(original.gameID());
+        gameDao.updateGame(new GameData(original.gameID(), "u1", null, original.gameName(), current.game()));
+        gameDao.appendMove(original.gameID(), E5);
+
+        ChessGame expected = current.game();
+        expected.makeMove(E5);
+        assertEquals(expected, gameDao.getGame(original.gameID()).game());
+    }
+
+    @Test
+    void updateGameWithUnrelatedBoardFails() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g6", new ChessGame()));
+        gameDao.appendMove(original.gameID(), E4);
+        ChessGame other = new ChessGame();
+        other.makeMove(new ChessMove(new ChessPosition(2, 4), new ChessPosition(4, 4), null));
+
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.updateGame(new GameData(original.gameID(), null, null, original.gameName(), other))
+        );
+        assertTrue(ex.getMessage().startsWith("Cannot update"));
+        ChessGame expected = new ChessGame();
+        expected.makeMove(E4);
+        assertEquals(expected, gameDao.getGame(original.gameID()).game());
+    }
+}
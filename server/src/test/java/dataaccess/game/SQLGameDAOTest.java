@@ -1,13 +1,18 @@
 package dataaccess.game;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
 import com.google.gson.Gson;
 import dataaccess.DataAccessException;
+import dataaccess.DatabaseManager;
 import dataaccess.user.SQLUserDAO;
 import model.GameData;
 import model.UserData;
 import org.junit.jupiter.api.*;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -58,6 +63,22 @@ class SQLGameDAOTest {
         assertTrue(ex.getMessage().startsWith("Game not found"));
     }
 
+    @Test
+    void getGameCorruptStateFails() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g13", new ChessGame())).gameID();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement ps = conn.prepareStatement("UPDATE games SET state = ? WHERE id = ?")) {
+            ps.setBytes(1, new byte[] { 1, 2, 3 });
+            ps.setInt(2, id);
+            ps.executeUpdate();
+        }
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.getGame(id)
+        );
+        assertTrue(ex.getMessage().startsWith("Error decoding game"));
+        assertThrows(DataAccessException.class, () -> gameDao.listGames());
+    }
+
     @Test
     void listGamesEmpty() throws DataAccessException {
         List<GameData> list = gameDao.listGames();
@@ -91,6 +112,60 @@ class SQLGameDAOTest {
         assertEquals("u1", fetched.whiteUsername());
     }
 
+    @Test
+    void updateGamePersistsBoard() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g7", new ChessGame()));
+        ChessGame game = original.game();
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        game.makeMove(e4);
+        gameDao.appendMove(original.gameID(), e4);
+        gameDao.updateGame(new GameData(original.gameID(), null, null, original.gameName(), game));
+
+        ChessGame fetched = gameDao.getGame(original.gameID()).game();
+        assertEquals(game, fetched);
+        assertEquals(ChessGame.TeamColor.BLACK, fetched.getTeamTurn());
+    }
+
+    @Test
+    void updateGameWithStaleBoardFails() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g11", new ChessGame()));
+        ChessGame stale = gameDao.getGame(original.gameID()).game();
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        gameDao.appendMove(original.gameID(), e4);
+        stale.makeMove(new ChessMove(new ChessPosition(2, 4), new ChessPosition(4, 4), null));
+
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.updateGame(new GameData(original.gameID(), null, null, original.gameName(), stale))
+        );
+        assertTrue(ex.getMessage().startsWith("Cannot update"));
+        ChessGame expected = new ChessGame();
+        expected.makeMove(e4);
+        assertEquals(expected, gameDao.getGame(original.gameID()).game());
+    }
+
+    @Test
+    void updatePlayersKeepsMoves() throws Exception {
+        userDao.createUser(new UserData("u2", "pw", "u2@mail"));
+        int id = gameDao.createGame(new GameData(0, null, null, "g12", new ChessGame())).gameID();
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        gameDao.appendMove(id, e4);
+        gameDao.updatePlayers(id, null, "u2");
+
+        GameData fetched = gameDao.getGame(id);
+        assertEquals("u2", fetched.blackUsername());
+        ChessGame expected = new ChessGame();
+        expected.makeMove(e4);
+        assertEquals(expected, fetched.game());
+    }
+
+    @Test
+    void updatePlayersNotFoundFails() {
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.updatePlayers(9999, null, null)
+        );
+        assertTrue(ex.getMessage().startsWith("Cannot update"));
+    }
+
     @Test
     void updateGameNotFoundFails() {
         GameData bad = new GameData(9999, null, null, "no", new ChessGame());
@@ -100,6 +175,95 @@ class SQLGameDAOTest {
         assertTrue(ex.getMessage().startsWith("Cannot update"));
     }
 
+    @Test
+    void appendMoveReplaysOnLoad() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g8", new ChessGame())).gameID();
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        ChessMove e5 = new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null);
+        gameDao.appendMove(id, e4);
+        gameDao.appendMove(id, e5);
+
+        ChessGame expected = new ChessGame();
+        expected.makeMove(e4);
+        expected.makeMove(e5);
+        assertEquals(expected, gameDao.getGame(id).game());
+        assertEquals(expected, gameDao.listGames().get(0).game());
+        assertEquals(List.of(e4, e5), gameDao.listMoves(id));
+    }
+
+    @Test
+    void appendMoveAfterUpdateReplaysFromSnapshot() throws Exception {
+        GameData original = gameDao.createGame(new GameData(0, null, null, "g9", new ChessGame()));
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        ChessMove e5 = new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null);
+        ChessGame game = original.game();
+        game.makeMove(e4);
+        gameDao.appendMove(original.gameID(), e4);
+        gameDao.updateGame(new GameData(original.gameID(), null, null, original.gameName(), game));
+        game.makeMove(e5);
+        gameDao.appendMove(original.gameID(), e5);
+
+        assertEquals(game, gameDao.getGame(original.gameID()).game());
+        assertEquals(List.of(e4, e5), gameDao.listMoves(original.gameID()));
+    }
+
+    @Test
+    void appendMoveTakesSnapshots() throws Exception {
+        SQLGameDAO snapshotting = new SQLGameDAO(2);
+        int id = snapshotting.createGame(new GameData(0, null, null, "g10", new ChessGame())).gameID();
+        List<ChessMove> moves = List.of(
+                new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null),
+                new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null),
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+                new ChessMove(new ChessPosition(8, 2), new ChessPosition(6, 3), null),
+                new ChessMove(new ChessPosition(1, 6), new ChessPosition(4, 3), null));
+        ChessGame expected = new ChessGame();
+        for (ChessMove move : moves) {
+            expected.makeMove(move);
+            snapshotting.appendMove(id, move);
+            assertEquals(expected, snapshotting.getGame(id).game());
+        }
+        assertEquals(expected, snapshotting.listGames().get(0).game());
+        assertEquals(moves, snapshotting.listMoves(id));
+    }
+
+    @Test
+    void snapshotIntervalMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SQLGameDAO(0));
+    }
+
+    @Test
+    void appendMoveRejectsIllegalMoves() throws Exception {
+        int id = gameDao.createGame(new GameData(0, null, null, "g14", new ChessGame())).gameID();
+        ChessMove illegal = new ChessMove(new ChessPosition(2, 5), new ChessPosition(5, 5), null);
+        ChessMove outOfTurn = new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null);
+        assertThrows(DataAccessException.class, () -> gameDao.appendMove(id, illegal));
+        assertThrows(DataAccessException.class, () -> gameDao.appendMove(id, outOfTurn));
+
+        assertTrue(gameDao.listMoves(id).isEmpty());
+        assertEquals(new ChessGame(), gameDao.getGame(id).game());
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        gameDao.appendMove(id, e4);
+        assertEquals(List.of(e4), gameDao.listMoves(id));
+    }
+
+    @Test
+    void appendMoveNotFoundFails() {
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.appendMove(9999, e4)
+        );
+        assertTrue(ex.getMessage().startsWith("Cannot append move"));
+    }
+
+    @Test
+    void listMovesNotFoundFails() {
+        DataAccessException ex = assertThrows(DataAccessException.class, () ->
+                gameDao.listMoves(9999)
+        );
+        assertTrue(ex.getMessage().startsWith("Game not found"));
+    }
+
     @Test
     void clearSucceeds() throws DataAccessException {
         gameDao.createGame(new GameData(0, null, null, "g6", new ChessGame()));
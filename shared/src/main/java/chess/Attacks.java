@@ -0,0 +1,246 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Bitboard attack sets: for a piece standing on a square, the mask of squares
+ * it attacks. Squares use the bitboard index from {@link ChessPosition#index()}.
+ * <p>
+ * Knight, king and pawn attacks never depend on other pieces, so they are worked
+ * out for every square once, when the class loads, and looked up afterwards.
+ * <p>
+ * Rook and bishop attacks use magic bitboards. Only the blockers on a square's
+ * rays (minus the board edge, which never changes the answer) matter, and for
+ * each square a magic multiplier is found that maps every arrangement of those
+ * blockers to its own slot in a lookup table. A slider's attacks then cost one
+ * mask, one multiply, one shift and one array read. The multipliers are searched
+ * for with a fixed seed at class load, which takes a few milliseconds.
+ */
+public final class Attacks {
+    private static final int[][] KNIGHT_OFFSETS = {
+            { 2, 1 }, { 2, -1 }, { -2, 1 }, { -2, -1 },
+            { 1, 2 }, { 1, -2 }, { -1, 2 }, { -1, -2 },
+    };
+    private static final int[][] KING_OFFSETS = {
+            { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 },
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 },
+    };
+    private static final int[][] RANK_FILE_OFFSETS = {
+            { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 },
+    };
+    private static final int[][] DIAGONAL_OFFSETS = {
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 },
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    private static final Magic[] ROOK_MAGICS = new Magic[64];
+    private static final Magic[] BISHOP_MAGICS = new Magic[64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = steps(square, KNIGHT_OFFSETS);
+            KING[square] = steps(square, KING_OFFSETS);
+            PAWN[ChessGame.TeamColor.WHITE.ordinal()][square] = steps(square, new int[][] { { 1, 1 }, { 1, -1 } });
+            PAWN[ChessGame.TeamColor.BLACK.ordinal()][square] = steps(square, new int[][] { { -1, 1 }, { -1, -1 } });
+        }
+        SplittableRandom random = new SplittableRandom(0x5EED_B17BL);
+        for (int square = 0; square < 64; square++) {
+            ROOK_MAGICS[square] = Magic.find(square, RANK_FILE_OFFSETS, random);
+            BISHOP_MAGICS[square] = Magic.find(square, DIAGONAL_OFFSETS, random);
+        }
+        for (int from = 0; from < 64; from++) {
+            for (int[] offset : KING_OFFSETS) {
+                long fullLine = (1L << from) | slides(from, 0, new int[][] { offset, { -offset[0], -offset[1] } });
+                long ray = 0;
+                int row = from / 8 + offset[0];
+                int col = from % 8 + offset[1];
+                while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                    BETWEEN[from][row * 8 + col] = ray;
+                    LINE[from][row * 8 + col] = fullLine;
+                    ray |= 1L << (row * 8 + col);
+                    row += offset[0];
+                    col += offset[1];
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given color on the square attacks
+     */
+    public static long pawn(ChessGame.TeamColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    /**
+     * @param occupied every occupied square; rays stop at, and include, the first one
+     */
+    public static long rook(int square, long occupied) {
+        return ROOK_MAGICS[square].attacks(occupied);
+    }
+
+    /**
+     * @param occupied every occupied square; rays stop at, and include, the first one
+     */
+    public static long bishop(int square, long occupied) {
+        return BISHOP_MAGICS[square].attacks(occupied);
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * @return the squares strictly between two squares on the same rank, file or
+     * diagonal, or 0 if they do not share a line
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @return the whole rank, file or diagonal through two squares, edge to edge,
+     * or 0 if they do not share a line
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * @return every square holding a piece of the attacking team that attacks
+     * the given square, treating only the squares in occupied as blockers
+     */
+    public static long attackersOf(ChessBoard board, int square, ChessGame.TeamColor attacker, long occupied) {
+        ChessGame.TeamColor defender = attacker == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK
+                : ChessGame.TeamColor.WHITE;
+        long queens = board.pieceMask(attacker, ChessPiece.PieceType.QUEEN);
+        return (pawn(defender, square) & board.pieceMask(attacker, ChessPiece.PieceType.PAWN))
+                | (knight(square) & board.pieceMask(attacker, ChessPiece.PieceType.KNIGHT))
+                | (king(square) & board.pieceMask(attacker, ChessPiece.PieceType.KING))
+                | (rook(square, occupied) & (board.pieceMask(attacker, ChessPiece.PieceType.ROOK) | queens))
+                | (bishop(square, occupied) & (board.pieceMask(attacker, ChessPiece.PieceType.BISHOP) | queens));
+    }
+
+    private static long steps(int square, int[][] offsets) {
+        long attacks = 0;
+        int row = square / 8;
+        int col = square % 8;
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            if (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                attacks |= 1L << (r * 8 + c);
+            }
+        }
+        return attacks;
+    }
+
+    private static long slides(int square, long occupied, int[][] offsets) {
+        long attacks = 0;
+        int row = square / 8;
+        int col = square % 8;
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                long bit = 1L << (r * 8 + c);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r += offset[0];
+                c += offset[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * The magic lookup for one slider type on one square
+     */
+    private record Magic(long mask, long multiplier, int shift, long[] table) {
+
+        long attacks(long occupied) {
+            return table[(int) (((occupied & mask) * multiplier) >>> shift)];
+        }
+
+        static Magic find(int square, int[][] offsets, SplittableRandom random) {
+            long mask = relevantBlockers(square, offsets);
+            int bits = Long.bitCount(mask);
+            int size = 1 << bits;
+
+            long[] blockers = new long[size];
+            long[] attacks = new long[size];
+            long subset = 0;
+            for (int i = 0; i < size; i++) {
+                blockers[i] = subset;
+                attacks[i] = slides(square, subset, offsets);
+                subset = (subset - mask) & mask;
+            }
+
+            long[] table = new long[size];
+            int[] filledBy = new int[size];
+            for (int attempt = 1; ; attempt++) {
+                long multiplier = random.nextLong() & random.nextLong() & random.nextLong();
+                if (Long.bitCount((mask * multiplier) >>> 56) < 6) {
+                    continue;
+                }
+                if (fills(blockers, attacks, multiplier, 64 - bits, table, filledBy, attempt)) {
+                    return new Magic(mask, multiplier, 64 - bits, table);
+                }
+            }
+        }
+
+        /*
+         * Tries a multiplier, writing each blocker arrangement's attacks into its
+         * slot. Two arrangements may share a slot only if their attacks agree.
+         */
+        private static boolean fills(long[] blockers, long[] attacks, long multiplier, int shift,
+                                     long[] table, int[] filledBy, int attempt) {
+            for (int i = 0; i < blockers.length; i++) {
+                int index = (int) ((blockers[i] * multiplier) >>> shift);
+                if (filledBy[index] != attempt) {
+                    filledBy[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /*
+         * The squares along each ray whose occupancy can change the attacks: every
+         * square except the last one before the edge.
+         */
+        private static long relevantBlockers(int square, int[][] offsets) {
+            long mask = 0;
+            for (int[] offset : offsets) {
+                int r = square / 8 + offset[0];
+                int c = square % 8 + offset[1];
+                while (r + offset[0] >= 0 && r + offset[0] < 8 && c + offset[1] >= 0 && c + offset[1] < 8) {
+                    mask |= 1L << (r * 8 + c);
+                    r += offset[0];
+                    c += offset[1];
+                }
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package chess;
+
+/**
+ * Bitboard view of a chessboard: one 64-bit mask per piece color/type pair plus
+ * per-color and total occupancy masks.
+ * <p>
+ * Square indices run from 0 (row 1, column 1) to 63 (row 8, column 8), so bit
+ * {@code (row - 1) * 8 + (column - 1)} is set when a piece stands on that square.
+ * Each team's king position, the board's Zobrist key and its static evaluation
+ * are also kept up to date so they can be looked up without touching the masks.
+ */
+final class Bitboards {
+    private static final int TYPE_COUNT = ChessPiece.PieceType.values().length;
+
+    private final long[] pieces = new long[2 * TYPE_COUNT];
+    private final long[] occupancy = new long[2];
+    private long occupied;
+    private final ChessPosition[] kings = new ChessPosition[2];
+    private long key;
+    private int score;
+
+    static Bitboards of(ChessPiece[][] squares) {
+        Bitboards bitboards = new Bitboards();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                ChessPiece piece = squares[row][col];
+                if (piece != null) {
+                    bitboards.set(row * 8 + col, piece);
+                }
+            }
+        }
+        return bitboards;
+    }
+
+    Bitboards copy() {
+        Bitboards clone = new Bitboards();
+        System.arraycopy(pieces, 0, clone.pieces, 0, pieces.length);
+        System.arraycopy(occupancy, 0, clone.occupancy, 0, occupancy.length);
+        clone.occupied = occupied;
+        System.arraycopy(kings, 0, clone.kings, 0, kings.length);
+        clone.key = key;
+        clone.score = score;
+        return clone;
+    }
+
+    void set(int square, ChessPiece piece) {
+        long bit = 1L << square;
+        pieces[pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= bit;
+        occupancy[piece.getTeamColor().ordinal()] |= bit;
+        occupied |= bit;
+        key ^= Zobrist.pieceKey(piece, square);
+        score += Evaluation.score(piece, square);
+        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
+            kings[piece.getTeamColor().ordinal()] = ChessPosition.fromIndex(square);
+        }
+    }
+
+    void clear(int square, ChessPiece piece) {
+        long bit = ~(1L << square);
+        pieces[pieceIndex(piece.getTeamColor(), piece.getPieceType())] &= bit;
+        occupancy[piece.getTeamColor().ordinal()] &= bit;
+        occupied &= bit;
+        key ^= Zobrist.pieceKey(piece, square);
+        score -= Evaluation.score(piece, square);
+        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
+            int color = piece.getTeamColor().ordinal();
+            ChessPosition king = kings[color];
+            if (king != null && king.index() == square) {
+                long remaining = pieces[pieceIndex(piece.getTeamColor(), ChessPiece.PieceType.KING)];
+                kings[color] = remaining == 0 ? null : ChessPosition.fromIndex(Long.numberOfTrailingZeros(remaining));
+            }
+        }
+    }
+
+    long pieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieces[pieceIndex(color, type)];
+    }
+
+    /**
+     * @return where the team's king stands, or null if it has none
+     */
+    ChessPosition king(ChessGame.TeamColor color) {
+        return kings[color.ordinal()];
+    }
+
+    /**
+     * @return the Zobrist key of the pieces on the board
+     */
+    long key() {
+        return key;
+    }
+
+    /**
+     * @return the evaluation of the pieces on the board, white positive
+     */
+    int score() {
+        return score;
+    }
+
+    long occupancy(ChessGame.TeamColor color) {
+        return occupancy[color.ordinal()];
+    }
+
+    long occupied() {
+        return occupied;
+    }
+
+    private static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * TYPE_COUNT + type.ordinal();
+    }
+}
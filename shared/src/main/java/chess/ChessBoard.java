@@ -1,7 +1,6 @@
 package chess;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -12,7 +11,10 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessBoard {
+    private static final List<ChessPosition> ALL_POSITIONS = allPositions();
+
     private ChessPiece[][] squares = new ChessPiece[8][8];
+    private transient Bitboards bitboards;
     public ChessBoard() {
         
     }
@@ -24,7 +26,18 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        squares[position.getRow() - 1][position.getColumn() - 1] = piece;
+        int row = position.getRow() - 1;
+        int col = position.getColumn() - 1;
+        if (bitboards != null) {
+            ChessPiece previous = squares[row][col];
+            if (previous != null) {
+                bitboards.clear(row * 8 + col, previous);
+            }
+            if (piece != null) {
+                bitboards.set(row * 8 + col, piece);
+            }
+        }
+        squares[row][col] = piece;
     }
 
     /**
@@ -57,11 +70,12 @@ public class ChessBoard {
                 squares[row][col] = null;
             }
         }
+        bitboards = null;
     }
 
     private void setupPawns(ChessGame.TeamColor color, int row) {
         for (int col = 1; col <= 8; col++) {
-            ChessPosition pos = new ChessPosition(row, col);
+            ChessPosition pos = ChessPosition.of(row, col);
             ChessPiece pawn = new ChessPiece(color, ChessPiece.PieceType.PAWN);
             addPiece(pos, pawn);
         }
@@ -80,45 +94,129 @@ public class ChessBoard {
         };
 
         for (int i = 0; i < order.length; i++) {
-            ChessPosition pos = new ChessPosition(row, i + 1);
+            ChessPosition pos = ChessPosition.of(row, i + 1);
             ChessPiece piece = new ChessPiece(color, order[i]);
             addPiece(pos, piece);
         }
     }
 
     public List<ChessPosition> getAllPositions() {
-        List<ChessPosition> positions = new ArrayList<>();
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                positions.add(new ChessPosition(row, col));
-            }
+        return ALL_POSITIONS;
+    }
+
+    /**
+     * Gets the positions of every piece belonging to a team
+     *
+     * @param color the team whose pieces to find
+     * @return positions of that team's pieces, ordered from row 1 column 1 upward
+     */
+    public List<ChessPosition> getPositions(ChessGame.TeamColor color) {
+        long mask = bitboards().occupancy(color);
+        List<ChessPosition> positions = new ArrayList<>(Long.bitCount(mask));
+        for (; mask != 0; mask &= mask - 1) {
+            positions.add(ChessPosition.fromIndex(Long.numberOfTrailingZeros(mask)));
         }
         return positions;
     }
 
+    /**
+     * @return bitboard of the squares holding the given piece color and type
+     */
+    public long pieceMask(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return bitboards().pieces(color, type);
+    }
+
+    /**
+     * @return bitboard of the squares holding any piece of the given team
+     */
+    public long teamMask(ChessGame.TeamColor color) {
+        return bitboards().occupancy(color);
+    }
+
+    /**
+     * @return bitboard of every occupied square
+     */
+    public long occupiedMask() {
+        return bitboards().occupied();
+    }
+
+    /**
+     * Gets a 64-bit Zobrist hash of the pieces on the board, kept up to date as
+     * pieces are added so that reading it costs nothing
+     *
+     * @return a key that is equal for equal boards and almost always differs
+     * for different ones
+     */
+    public long zobristKey() {
+        return bitboards().key();
+    }
+
+    /**
+     * Scores the position by material and piece placement (see {@link Evaluation}),
+     * kept up to date as pieces are added so that reading it costs nothing
+     *
+     * @return the score in centipawns: positive when white is ahead, negative
+     * when black is
+     */
+    public int evaluate() {
+        return bitboards().score();
+    }
+
     public ChessPosition findKingPosition(ChessGame.TeamColor color) {
-        for (ChessPosition position : getAllPositions()) {
-            ChessPiece piece = getPiece(position);
-            if (piece != null
-                    && piece.getTeamColor() == color
-                    && piece.getPieceType() == ChessPiece.PieceType.KING) {
-                return position;
-            }
+        ChessPosition king = bitboards().king(color);
+        if (king == null) {
+            throw new IllegalStateException("No king found for " + color);
         }
-        throw new IllegalStateException("No king found for " + color);
+        return king;
+    }
+
+    public boolean hasKing(ChessGame.TeamColor color) {
+        return bitboards().king(color) != null;
+    }
+
+    /**
+     * Determines whether any piece of the given team attacks a square, by
+     * looking outward from the square with the attack tables in {@link Attacks}
+     *
+     * @param position the square that may be attacked
+     * @param attacker the team whose pieces may be attacking it
+     * @return True if at least one piece of the attacking team hits the square
+     */
+    public boolean isSquareAttacked(ChessPosition position, ChessGame.TeamColor attacker) {
+        return Attacks.attackersOf(this, position.index(), attacker, occupiedMask()) != 0;
     }
 
     public ChessBoard deepCopy() {
         ChessBoard clone = new ChessBoard();
-        for (ChessPosition position : getAllPositions()) {
-            ChessPiece piece = getPiece(position);
-            if (piece != null) {
-                clone.addPiece(position, piece);
-            }
+        for (int row = 0; row < 8; row++) {
+            System.arraycopy(squares[row], 0, clone.squares[row], 0, 8);
+        }
+        if (bitboards != null) {
+            clone.bitboards = bitboards.copy();
         }
         return clone;
     }
 
+    private static List<ChessPosition> allPositions() {
+        ChessPosition[] positions = new ChessPosition[64];
+        for (int square = 0; square < 64; square++) {
+            positions[square] = ChessPosition.fromIndex(square);
+        }
+        return List.of(positions);
+    }
+
+    /*
+     * Built on first use rather than in the constructor so that boards
+     * deserialized by Gson, which only restores the squares array, index
+     * the pieces they actually hold.
+     */
+    private Bitboards bitboards() {
+        if (bitboards == null) {
+            bitboards = Bitboards.of(squares);
+        }
+        return bitboards;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -133,6 +231,6 @@ public class ChessBoard {
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return Long.hashCode(zobristKey());
     }
 }
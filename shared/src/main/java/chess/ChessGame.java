@@ -12,9 +12,12 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessGame {
+    private static final LegalMoveCache LEGAL_MOVES = new LegalMoveCache(1 << 14);
 
     private ChessBoard board;
     private TeamColor teamTurn;
+    private final transient GameStatus[] statuses = new GameStatus[2];
+    private final transient long[] statusKeys = new long[2];
 
     public ChessGame() {
         this.board = new ChessBoard();
@@ -64,44 +67,57 @@ public class ChessGame {
             return null;
         }
 
-        TeamColor moverColor = piece.getTeamColor();
-        Collection<ChessMove> rawMoves = piece.pieceMoves(board, startPosition);
-        List<ChessMove> legalMoves = new ArrayList<>();
+        int origin = startPosition.index();
+        List<ChessMove> moves = new ArrayList<>();
+        for (int move : cachedLegalMoves(piece.getTeamColor())) {
+            if (ChessMove.encodedFrom(move) == origin) {
+                moves.add(ChessMove.decode(move));
+            }
+        }
+        return moves;
+    }
 
-        for (ChessMove move : rawMoves) {
-            ChessBoard snapshot = board.deepCopy();
+    /**
+     * Writes every legal move for a team into a buffer as encoded moves
+     * (see {@link ChessMove#encode()}), regardless of whose turn it is.
+     * Unlike {@link #validMoves(ChessPosition)} this always generates the moves
+     * rather than consulting the shared cache, so it allocates nothing.
+     *
+     * @param teamColor which team to generate moves for
+     * @param moves     buffer the moves are appended to
+     */
+    public void legalMoves(TeamColor teamColor, MoveList moves) {
+        LegalMoveGenerator.generate(board, teamColor, moves, false);
+    }
 
-            ChessPiece toPlace = piece;
-            if (piece.getPieceType() == ChessPiece.PieceType.PAWN
-                    && move.getPromotionPiece() != null
-                    && (move.getEndPosition().getRow() == 1
-                    || move.getEndPosition().getRow() == 8)) {
-                toPlace = new ChessPiece(moverColor, move.getPromotionPiece());
-            }
+    /*
+     * Looks up the legal moves for a team in the cache shared by all games,
+     * generating and storing them on a miss.
+     */
+    private int[] cachedLegalMoves(TeamColor teamColor) {
+        long key = keyFor(teamColor);
+        int[] moves = LEGAL_MOVES.get(key);
+        if (moves == null) {
+            MoveList generated = new MoveList(64);
+            legalMoves(teamColor, generated);
+            moves = generated.toArray();
+            LEGAL_MOVES.put(key, moves);
+        }
+        return moves;
+    }
 
-            snapshot.addPiece(move.getEndPosition(), toPlace);
-            snapshot.addPiece(startPosition, null);
-
-            boolean kingStillThere = false;
-            for (ChessPosition pos : snapshot.getAllPositions()) {
-                ChessPiece occupant = snapshot.getPiece(pos);
-                if (occupant != null
-                        && occupant.getTeamColor() == moverColor
-                        && occupant.getPieceType() == ChessPiece.PieceType.KING) {
-                    kingStillThere = true;
-                    break;
-                }
-            }
-            if (!kingStillThere) {
-                continue;
-            }
+    private long keyFor(TeamColor teamColor) {
+        long key = board.zobristKey();
+        return teamColor == TeamColor.BLACK ? key ^ Zobrist.BLACK_TO_MOVE : key;
+    }
 
-            ChessGame simulated = new ChessGame(snapshot, moverColor);
-            if (!simulated.isInCheck(moverColor)) {
-                legalMoves.add(move);
+    private static boolean contains(int[] moves, int move) {
+        for (int candidate : moves) {
+            if (candidate == move) {
+                return true;
             }
         }
-        return legalMoves;
+        return false;
     }
 
     /**
@@ -123,25 +139,53 @@ public class ChessGame {
             throw new InvalidMoveException("Cannot capture own piece");
         }
 
-        Collection<ChessMove> legal = validMoves(move.getStartPosition());
-        if (legal == null || !legal.contains(move)) {
+        if (!contains(cachedLegalMoves(teamTurn), move.encode())) {
             throw new InvalidMoveException("Illegal move");
         }
 
+        makeMoveUnchecked(move);
+    }
+
+    /**
+     * Applies a move to the board in place without checking that it is legal,
+     * then passes the turn to the other team
+     *
+     * @param move chess move to perform
+     * @return a record that {@link #unmakeMove(MoveUndo)} uses to take the move back
+     */
+    public MoveUndo makeMoveUnchecked(ChessMove move) {
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        ChessPiece piece = board.getPiece(start);
+        MoveUndo undo = new MoveUndo(move, piece, board.getPiece(end), teamTurn);
+
         ChessPiece toPlace = piece;
         if (piece.getPieceType() == ChessPiece.PieceType.PAWN
                 && move.getPromotionPiece() != null
-                && (move.getEndPosition().getRow() == 1 || move.getEndPosition().getRow() == 8)) {
-            toPlace = new ChessPiece(teamTurn, move.getPromotionPiece());
+                && (end.getRow() == 1 || end.getRow() == 8)) {
+            toPlace = new ChessPiece(piece.getTeamColor(), move.getPromotionPiece());
         }
-        board.addPiece(move.getEndPosition(), toPlace);
-        board.addPiece(move.getStartPosition(), null);
+        board.addPiece(end, toPlace);
+        board.addPiece(start, null);
 
-        if (teamTurn == TeamColor.WHITE) {
-            teamTurn = TeamColor.BLACK;
-        } else {
-            teamTurn = TeamColor.WHITE;
-        }
+        teamTurn = opponentOf(teamTurn);
+        return undo;
+    }
+
+    /**
+     * Takes back a move applied with {@link #makeMoveUnchecked(ChessMove)}.
+     * Moves must be taken back in the reverse order they were made.
+     *
+     * @param undo the record returned when the move was made
+     */
+    public void unmakeMove(MoveUndo undo) {
+        board.addPiece(undo.move().getStartPosition(), undo.movedPiece());
+        board.addPiece(undo.move().getEndPosition(), undo.capturedPiece());
+        teamTurn = undo.previousTurn();
+    }
+
+    private static TeamColor opponentOf(TeamColor color) {
+        return color == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE;
     }
 
     /**
@@ -152,18 +196,7 @@ public class ChessGame {
      */
     public boolean isInCheck(TeamColor teamColor) {
         ChessPosition kingPosition = board.findKingPosition(teamColor);
-
-        for (ChessPosition position : board.getAllPositions()) {
-            ChessPiece piece = board.getPiece(position);
-            if (piece != null && piece.getTeamColor() != teamColor) {
-                for (ChessMove move : piece.pieceMoves(board, position)) {
-                    if (move.getEndPosition().equals(kingPosition)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return board.isSquareAttacked(kingPosition, opponentOf(teamColor));
     }
 
     /**
@@ -173,31 +206,7 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
-        if (!isInCheck(teamColor)) {
-            return false;
-        }
-
-        for (ChessPosition origin : board.getAllPositions()) {
-            ChessPiece piece = board.getPiece(origin);
-            if (piece == null || piece.getTeamColor() != teamColor) {
-                continue;
-            }
-
-            for (ChessMove move : validMoves(origin)) {
-                ChessBoard testBoard = board.deepCopy();
-                testBoard.addPiece(move.getEndPosition(), piece);
-                testBoard.addPiece(origin, null);
-
-                ChessGame testGame = new ChessGame();
-                testGame.setBoard(testBoard);
-                testGame.setTeamTurn(teamColor);
-
-                if (!testGame.isInCheck(teamColor)) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return getGameStatus(teamColor) == GameStatus.CHECKMATE;
     }
 
     /**
@@ -208,20 +217,51 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
-        if (isInCheck(teamColor)) {
-            return false;
+        return getGameStatus(teamColor) == GameStatus.STALEMATE;
+    }
+
+    /**
+     * @return the status of the team whose turn it is
+     */
+    public GameStatus getGameStatus() {
+        return getGameStatus(teamTurn);
+    }
+
+    /**
+     * Works out whether a team is in check, checkmate or stalemate in one pass,
+     * stopping move generation at the first legal move. The result is kept until
+     * the board changes.
+     *
+     * @param teamColor which team to get the status of
+     * @return the team's status on the current board
+     */
+    public GameStatus getGameStatus(TeamColor teamColor) {
+        int index = teamColor.ordinal();
+        long key = board.zobristKey();
+        GameStatus status = statuses[index];
+        if (status == null || statusKeys[index] != key) {
+            status = computeStatus(teamColor);
+            statuses[index] = status;
+            statusKeys[index] = key;
         }
+        return status;
+    }
 
-        for (ChessPosition origin : board.getAllPositions()) {
-            ChessPiece piece = board.getPiece(origin);
-            if (piece == null || piece.getTeamColor() != teamColor) {
-                continue;
-            }
-            if (!validMoves(origin).isEmpty()) {
-                return false;
-            }
+    private GameStatus computeStatus(TeamColor teamColor) {
+        boolean inCheck = isInCheck(teamColor);
+        if (hasLegalMove(teamColor)) {
+            return inCheck ? GameStatus.CHECK : GameStatus.IN_PROGRESS;
         }
-        return true;
+        return inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+    }
+
+    private boolean hasLegalMove(TeamColor teamColor) {
+        int[] cached = LEGAL_MOVES.get(keyFor(teamColor));
+        if (cached != null) {
+            return cached.length > 0;
+        }
+
+        return LegalMoveGenerator.generate(board, teamColor, new MoveList(32), true);
     }
 
     /**
@@ -242,6 +282,40 @@ public class ChessGame {
         return board;
     }
 
+    /**
+     * Gets a 64-bit Zobrist hash of the position: the board's key combined with
+     * whose turn it is
+     *
+     * @return a key that is equal for equal games and almost always differs
+     * for different ones
+     */
+    public long positionKey() {
+        return keyFor(teamTurn);
+    }
+
+    /**
+     * Sets up a game from Forsyth-Edwards Notation. Castling rights, the en passant
+     * square and the move counters may be given but are ignored, as this game
+     * does not support castling or en passant.
+     *
+     * @param fen the position, e.g. {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}
+     * @return a new game at that position
+     * @throws IllegalArgumentException if the text is not valid FEN
+     */
+    public static ChessGame fromFen(String fen) {
+        return Fen.parse(fen);
+    }
+
+    /**
+     * Writes the position in Forsyth-Edwards Notation, with no castling rights,
+     * no en passant square and the move counters at {@code 0 1}
+     *
+     * @return the position as a FEN string
+     */
+    public String toFen() {
+        return Fen.format(this);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -256,6 +330,6 @@ public class ChessGame {
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, teamTurn);
+        return Long.hashCode(positionKey());
     }
 }
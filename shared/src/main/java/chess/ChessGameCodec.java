@@ -0,0 +1,112 @@
+package chess;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of a {@link ChessGame}, for storing games where JSON would
+ * be wasteful. An encoded game is laid out as
+ * <pre>
+ *  byte     0xC5, marking the data as an encoded game
+ *  byte     format version, currently 1
+ *  byte     flags: bit 0 is set when it is black's turn
+ *  8 bytes  occupancy mask, bit n set when square n holds a piece
+ *           (squares numbered as in {@link ChessPosition#index()}), big-endian
+ *  n bytes  one 4-bit code per occupied square in square order, high nibble first:
+ *           the piece type's ordinal, plus 8 for black pieces
+ * </pre>
+ * The starting position takes 27 bytes.
+ */
+public final class ChessGameCodec {
+    /**
+     * Format version written by {@link #encode(ChessGame)}
+     */
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final int HEADER_BYTES = 3 + Long.BYTES;
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int BLACK_PIECE = 8;
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    private ChessGameCodec() {
+    }
+
+    public static byte[] encode(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        long occupied = board.occupiedMask();
+        int pieces = Long.bitCount(occupied);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (pieces + 1) / 2);
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) (game.getTeamTurn() == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0));
+        buffer.putLong(occupied);
+
+        int packed = 0;
+        int count = 0;
+        for (long mask = occupied; mask != 0; mask &= mask - 1) {
+            ChessPiece piece = board.getPiece(ChessPosition.fromIndex(Long.numberOfTrailingZeros(mask)));
+            int code = piece.getPieceType().ordinal()
+                    + (piece.getTeamColor() == ChessGame.TeamColor.BLACK ? BLACK_PIECE : 0);
+            packed = packed << 4 | code;
+            if (++count % 2 == 0) {
+                buffer.put((byte) packed);
+                packed = 0;
+            }
+        }
+        if (count % 2 == 1) {
+            buffer.put((byte) (packed << 4));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not an encoded game, is truncated
+     *                                  or has bytes after the last piece, or uses a
+     *                                  format version this code does not know
+     */
+    public static ChessGame decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            if (buffer.get() != MAGIC) {
+                throw new IllegalArgumentException("Not an encoded chess game");
+            }
+            int version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported game encoding version: " + version);
+            }
+            ChessGame.TeamColor turn = (buffer.get() & BLACK_TO_MOVE) != 0
+                    ? ChessGame.TeamColor.BLACK
+                    : ChessGame.TeamColor.WHITE;
+            long occupied = buffer.getLong();
+
+            ChessBoard board = new ChessBoard();
+            int count = 0;
+            int packed = 0;
+            for (long mask = occupied; mask != 0; mask &= mask - 1) {
+                if (count++ % 2 == 0) {
+                    packed = buffer.get() & 0xFF;
+                } else {
+                    packed <<= 4;
+                }
+                board.addPiece(ChessPosition.fromIndex(Long.numberOfTrailingZeros(mask)), piece(packed >>> 4 & 0xF));
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Encoded chess game has " + buffer.remaining()
+                        + " unexpected trailing bytes");
+            }
+            return new ChessGame(board, turn);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Encoded chess game is truncated", e);
+        }
+    }
+
+    private static ChessPiece piece(int code) {
+        int type = code & (BLACK_PIECE - 1);
+        if (type >= PIECE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown piece code: " + code);
+        }
+        ChessGame.TeamColor color = (code & BLACK_PIECE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        return new ChessPiece(color, PIECE_TYPES[type]);
+    }
+}
@@ -9,6 +9,31 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessMove {
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+    private static final int PROMOTION_SLOTS = PIECE_TYPES.length + 1;
+    private static final ChessMove[] MOVES = new ChessMove[64 * 64 * PROMOTION_SLOTS];
+
+    static {
+        ChessPiece.PieceType[] promotions = {
+                ChessPiece.PieceType.QUEEN,
+                ChessPiece.PieceType.ROOK,
+                ChessPiece.PieceType.BISHOP,
+                ChessPiece.PieceType.KNIGHT
+        };
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                ChessPosition start = ChessPosition.fromIndex(from);
+                ChessPosition end = ChessPosition.fromIndex(to);
+                MOVES[slot(from, to, null)] = new ChessMove(start, end, null);
+                if (end.getRow() == 1 || end.getRow() == 8) {
+                    for (ChessPiece.PieceType type : promotions) {
+                        MOVES[slot(from, to, type)] = new ChessMove(start, end, type);
+                    }
+                }
+            }
+        }
+    }
+
     private final ChessPosition startPosition;
     private final ChessPosition endPosition;
     private final ChessPiece.PieceType promotionPiece;
@@ -19,6 +44,82 @@ public class ChessMove {
         this.promotionPiece = promotionPiece;
     }
 
+    /**
+     * Gets the shared instance of a move. Moves are immutable, so move generation
+     * hands these out instead of allocating new ones.
+     *
+     * @return the canonical move, or a new move if the positions are off the board
+     * or the promotion could never be played
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition,
+                               ChessPiece.PieceType promotionPiece) {
+        if (!onBoard(startPosition) || !onBoard(endPosition)) {
+            return new ChessMove(startPosition, endPosition, promotionPiece);
+        }
+        return of(startPosition.index(), endPosition.index(), promotionPiece);
+    }
+
+    /**
+     * @param from bitboard square index of the starting location
+     * @param to   bitboard square index of the ending location
+     * @return the canonical move between the two squares
+     */
+    public static ChessMove of(int from, int to, ChessPiece.PieceType promotionPiece) {
+        ChessMove move = MOVES[slot(from, to, promotionPiece)];
+        if (move == null) {
+            return new ChessMove(ChessPosition.fromIndex(from), ChessPosition.fromIndex(to), promotionPiece);
+        }
+        return move;
+    }
+
+    /**
+     * Packs a move into 15 bits: the start square index in bits 0-5, the end
+     * square index in bits 6-11 and the promotion piece (0 for none, otherwise
+     * its ordinal plus one) in bits 12-14
+     */
+    public static int encode(int from, int to, ChessPiece.PieceType promotionPiece) {
+        int promotion = promotionPiece == null ? 0 : promotionPiece.ordinal() + 1;
+        return from | to << 6 | promotion << 12;
+    }
+
+    /**
+     * @return this move packed as described by {@link #encode(int, int, ChessPiece.PieceType)}
+     */
+    public int encode() {
+        return encode(startPosition.index(), endPosition.index(), promotionPiece);
+    }
+
+    /**
+     * @return the canonical move for an encoded move
+     */
+    public static ChessMove decode(int move) {
+        return of(encodedFrom(move), encodedTo(move), encodedPromotion(move));
+    }
+
+    public static int encodedFrom(int move) {
+        return move & 63;
+    }
+
+    public static int encodedTo(int move) {
+        return move >>> 6 & 63;
+    }
+
+    public static ChessPiece.PieceType encodedPromotion(int move) {
+        int promotion = move >>> 12 & 7;
+        return promotion == 0 ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    private static int slot(int from, int to, ChessPiece.PieceType promotionPiece) {
+        int promotion = promotionPiece == null ? 0 : promotionPiece.ordinal() + 1;
+        return (from * 64 + to) * PROMOTION_SLOTS + promotion;
+    }
+
+    private static boolean onBoard(ChessPosition position) {
+        int row = position.getRow();
+        int col = position.getColumn();
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+
     /**
      * @return ChessPosition of starting location
      */
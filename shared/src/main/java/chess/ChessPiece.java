@@ -53,15 +53,31 @@ public class ChessPiece {
      * @return Collection of valid moves
      */
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        PieceMoveCalculator calculator = switch (pieceType) {
-            case BISHOP -> new BishopMoveCalculator();
-            case KING -> new KingMoveCalculator();
-            case KNIGHT -> new KnightMoveCalculator();
-            case PAWN -> new PawnMoveCalculator();
-            case QUEEN -> new QueenMoveCalculator();
-            case ROOK -> new RookMoveCalculator();
+        return calculator().calculateMoves(board, myPosition);
+    }
+
+    /**
+     * Writes all the moves this piece could make into a buffer as encoded moves.
+     * Like {@link #pieceMoves(ChessBoard, ChessPosition)}, does not take into
+     * account moves that are illegal due to leaving the king in danger
+     *
+     * @param board  the board this piece stands on
+     * @param square bitboard square index of this piece
+     * @param moves  buffer the moves are appended to
+     */
+    public void pieceMoves(ChessBoard board, int square, MoveList moves) {
+        calculator().calculateMoves(board, square, moves);
+    }
+
+    private PieceMoveCalculator calculator() {
+        return switch (pieceType) {
+            case BISHOP -> BishopMoveCalculator.INSTANCE;
+            case KING -> KingMoveCalculator.INSTANCE;
+            case KNIGHT -> KnightMoveCalculator.INSTANCE;
+            case PAWN -> PawnMoveCalculator.INSTANCE;
+            case QUEEN -> QueenMoveCalculator.INSTANCE;
+            case ROOK -> RookMoveCalculator.INSTANCE;
         };
-        return calculator.calculateMoves(board, myPosition);
     }
 
     @Override
@@ -9,6 +9,14 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPosition {
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            SQUARES[square] = new ChessPosition(square / 8 + 1, square % 8 + 1);
+        }
+    }
+
     private final int row;
     private final int col;
     public ChessPosition(int row, int col) {
@@ -16,6 +24,37 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Gets the shared instance for a square. Positions are immutable, so move
+     * generation hands these out instead of allocating new ones.
+     *
+     * @return the canonical position for an on-board square, or a new position
+     * if the coordinates are off the board
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return SQUARES[(row - 1) * 8 + col - 1];
+    }
+
+    /**
+     * @param square bitboard square index, 0 for row 1 column 1 through 63 for
+     *               row 8 column 8
+     * @return the canonical position for that square
+     */
+    public static ChessPosition fromIndex(int square) {
+        return SQUARES[square];
+    }
+
+    /**
+     * @return this position's bitboard square index, 0 for row 1 column 1
+     * through 63 for row 8 column 8
+     */
+    public int index() {
+        return (row - 1) * 8 + col - 1;
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
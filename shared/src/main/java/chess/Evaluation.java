@@ -0,0 +1,117 @@
+package chess;
+
+/**
+ * Static evaluation: what each piece is worth on each square, in centipawns.
+ * A piece's worth is its material value plus a bonus or penalty from a
+ * piece-square table that favors central knights, advanced pawns, a sheltered
+ * king and so on. The tables are the widely used ones from Tomasz Michniewski's
+ * "Simplified Evaluation Function".
+ * <p>
+ * A board's score is the sum over its pieces, white positive and black negative,
+ * so adding or removing a piece changes it by a single table entry. The board
+ * keeps it up to date that way; see {@link ChessBoard#evaluate()}.
+ */
+public final class Evaluation {
+    private static final int TYPE_COUNT = ChessPiece.PieceType.values().length;
+
+    // Indexed by PieceType ordinal: KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN.
+    // Both sides always have a king, so it adds nothing to the material balance.
+    private static final int[] PIECE_VALUES = { 0, 900, 330, 320, 500, 100 };
+
+    // Tables are laid out as the board is drawn, white's side at the bottom:
+    // the first entry is row 8 column 1, the last is row 1 column 8.
+    private static final int[] KING_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20,
+    };
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20,
+    };
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20,
+    };
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50,
+    };
+    private static final int[] ROOK_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0,
+    };
+    private static final int[] PAWN_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+    };
+
+    private static final int[] SCORES = new int[2 * TYPE_COUNT * 64];
+
+    static {
+        int[][] tables = { KING_TABLE, QUEEN_TABLE, BISHOP_TABLE, KNIGHT_TABLE, ROOK_TABLE, PAWN_TABLE };
+        int black = ChessGame.TeamColor.BLACK.ordinal();
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            for (int square = 0; square < 64; square++) {
+                // White reads the table from the bottom up, black from the top down
+                int white = PIECE_VALUES[type] + tables[type][square ^ 56];
+                SCORES[type * 64 + square] = white;
+                SCORES[(black * TYPE_COUNT + type) * 64 + (square ^ 56)] = -white;
+            }
+        }
+    }
+
+    private Evaluation() {
+    }
+
+    /**
+     * @return the material value of a piece type in centipawns; 0 for the king
+     */
+    public static int pieceValue(ChessPiece.PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    /**
+     * @return what a piece on a square adds to the board's score: positive for
+     * white pieces, negative for black ones
+     */
+    public static int score(ChessPiece piece, int square) {
+        int index = piece.getTeamColor().ordinal() * TYPE_COUNT + piece.getPieceType().ordinal();
+        return SCORES[index * 64 + square];
+    }
+}
@@ -0,0 +1,156 @@
+package chess;
+
+/**
+ * Reads and writes Forsyth-Edwards Notation, the one-line text form of a position,
+ * e.g. {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * <p>
+ * The piece placement and side to move are used. Castling rights, the en passant
+ * square and the move counters are checked for form but otherwise ignored, since
+ * the game does not track them; they are written as {@code - - 0 1}.
+ */
+final class Fen {
+    private static final String PIECE_LETTERS = "kqbnrp";
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    private Fen() {
+    }
+
+    static ChessGame parse(String fen) {
+        ChessBoard board = new ChessBoard();
+        int length = fen.length();
+        int i = 0;
+        int row = 8;
+        int col = 1;
+        boolean afterDigit = false;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            boolean digit = c >= '1' && c <= '8';
+            if (digit && afterDigit) {
+                throw invalid(fen, "rank " + row + " has two digits in a row");
+            }
+            afterDigit = digit;
+            if (c == '/') {
+                if (col != 9 || row == 1) {
+                    throw invalid(fen, "rank " + row + " does not have 8 squares");
+                }
+                row--;
+                col = 1;
+            } else if (digit) {
+                col += c - '0';
+            } else {
+                int type = PIECE_LETTERS.indexOf(Character.toLowerCase(c));
+                if (type < 0) {
+                    throw invalid(fen, "unknown piece '" + c + "'");
+                }
+                if (col > 8) {
+                    throw invalid(fen, "rank " + row + " does not have 8 squares");
+                }
+                ChessGame.TeamColor color = Character.isUpperCase(c)
+                        ? ChessGame.TeamColor.WHITE
+                        : ChessGame.TeamColor.BLACK;
+                board.addPiece(ChessPosition.of(row, col), new ChessPiece(color, PIECE_TYPES[type]));
+                col++;
+            }
+            if (col > 9) {
+                throw invalid(fen, "rank " + row + " does not have 8 squares");
+            }
+        }
+        if (row != 1 || col != 9) {
+            throw invalid(fen, "the board does not have 8 full ranks");
+        }
+
+        i = skipSpace(fen, i);
+        if (i >= length) {
+            throw invalid(fen, "missing side to move");
+        }
+        ChessGame.TeamColor turn = switch (fen.charAt(i)) {
+            case 'w' -> ChessGame.TeamColor.WHITE;
+            case 'b' -> ChessGame.TeamColor.BLACK;
+            default -> throw invalid(fen, "side to move must be w or b");
+        };
+        if (i + 1 < length && fen.charAt(i + 1) != ' ') {
+            throw invalid(fen, "side to move must be w or b");
+        }
+
+        i = skipSpace(fen, i + 1);
+        if (i < length) {
+            i = checkField(fen, i, "castling rights", "KQkq-");
+        }
+        i = skipSpace(fen, i);
+        if (i < length) {
+            int start = i;
+            i = checkField(fen, i, "en passant square", "-abcdefgh36");
+            boolean none = i - start == 1 && fen.charAt(start) == '-';
+            boolean square = i - start == 2
+                    && fen.charAt(start) >= 'a' && fen.charAt(start) <= 'h'
+                    && (fen.charAt(start + 1) == '3' || fen.charAt(start + 1) == '6');
+            if (!none && !square) {
+                throw invalid(fen, "bad en passant square");
+            }
+        }
+        for (String counter : new String[] { "halfmove clock", "fullmove number" }) {
+            i = skipSpace(fen, i);
+            if (i < length) {
+                i = checkField(fen, i, counter, "0123456789");
+            }
+        }
+        if (skipSpace(fen, i) < length) {
+            throw invalid(fen, "unexpected text after the move number");
+        }
+        return new ChessGame(board, turn);
+    }
+
+    static String format(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(row, col));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = PIECE_LETTERS.charAt(piece.getPieceType().ordinal());
+                fen.append(piece.getTeamColor() == ChessGame.TeamColor.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w" : " b");
+        fen.append(" - - 0 1");
+        return fen.toString();
+    }
+
+    private static int skipSpace(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /*
+     * Steps over one field, checking that every character is allowed in it
+     */
+    private static int checkField(String fen, int i, String name, String allowed) {
+        while (i < fen.length() && fen.charAt(i) != ' ') {
+            if (allowed.indexOf(fen.charAt(i)) < 0) {
+                throw invalid(fen, "bad " + name);
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("Invalid FEN '" + fen + "': " + reason);
+    }
+}
@@ -0,0 +1,15 @@
+package chess;
+
+/**
+ * The state of a game from the point of view of one team
+ */
+public enum GameStatus {
+    /** The team is not in check and has at least one legal move */
+    IN_PROGRESS,
+    /** The team is in check but can get out of it */
+    CHECK,
+    /** The team is in check and has no legal move */
+    CHECKMATE,
+    /** The team is not in check but has no legal move */
+    STALEMATE
+}
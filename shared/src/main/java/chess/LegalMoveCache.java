@@ -0,0 +1,43 @@
+package chess;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size, thread-safe cache of the full set of legal moves for a position,
+ * shared by every game. Each position key maps to exactly one slot, and a new
+ * entry simply replaces whatever held that slot, so the cache never grows and
+ * never needs locking.
+ */
+final class LegalMoveCache {
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    private record Entry(long key, int[] moves) {}
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    LegalMoveCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        entries = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * @param key position key including which team is moving
+     * @return the encoded legal moves stored for the key, or null if they are
+     * not cached. Callers must not modify the returned array.
+     */
+    int[] get(long key) {
+        Entry entry = entries.get(slot(key));
+        return entry != null && entry.key() == key ? entry.moves() : null;
+    }
+
+    void put(long key, int[] moves) {
+        entries.set(slot(key), new Entry(key, moves));
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ key >>> 32) & mask;
+    }
+}
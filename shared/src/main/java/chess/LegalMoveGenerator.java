@@ -0,0 +1,104 @@
+package chess;
+
+/**
+ * Generates strictly legal moves without playing them out. Checking pieces and
+ * pinned pieces are found once per position; after that every candidate move is
+ * accepted or rejected with a couple of mask tests:
+ * <ul>
+ *     <li>the king may only step onto squares the opponent does not attack, with
+ *     the king itself removed so sliders see through the square it leaves</li>
+ *     <li>in double check only the king may move</li>
+ *     <li>in single check other pieces must capture the checker or block its line</li>
+ *     <li>a pinned piece may only move along the line through its king and itself</li>
+ * </ul>
+ */
+final class LegalMoveGenerator {
+    private LegalMoveGenerator() {
+    }
+
+    /**
+     * Appends the legal moves of a team to a buffer
+     *
+     * @param firstOnly stop as soon as one legal move has been found
+     * @return True if at least one legal move was appended
+     */
+    static boolean generate(ChessBoard board, ChessGame.TeamColor us, MoveList moves, boolean firstOnly) {
+        if (!board.hasKing(us)) {
+            return false;
+        }
+        ChessGame.TeamColor them = us == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK
+                : ChessGame.TeamColor.WHITE;
+        int king = board.findKingPosition(us).index();
+        long own = board.teamMask(us);
+        long occupied = board.occupiedMask();
+        int first = moves.size();
+
+        long occupiedWithoutKing = occupied & ~(1L << king);
+        for (long targets = Attacks.king(king) & ~own; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if (Attacks.attackersOf(board, to, them, occupiedWithoutKing) == 0) {
+                moves.add(king, to, null);
+                if (firstOnly) {
+                    return true;
+                }
+            }
+        }
+
+        long checkers = Attacks.attackersOf(board, king, them, occupied);
+        if (Long.bitCount(checkers) > 1) {
+            return moves.size() > first;
+        }
+        long allowed = ~own;
+        if (checkers != 0) {
+            allowed = checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        }
+        long pinned = pinnedPieces(board, king, us, them);
+
+        for (long pieces = own & ~(1L << king); pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            long targets = allowed;
+            if ((pinned & 1L << from) != 0) {
+                targets &= Attacks.line(king, from);
+            }
+
+            int start = moves.size();
+            board.getPiece(ChessPosition.fromIndex(from)).pieceMoves(board, from, moves);
+            int kept = start;
+            for (int i = start; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if ((targets & 1L << ChessMove.encodedTo(move)) != 0) {
+                    moves.set(kept++, move);
+                }
+            }
+            moves.truncate(kept);
+            if (firstOnly && kept > first) {
+                return true;
+            }
+        }
+        return moves.size() > first;
+    }
+
+    /*
+     * A piece is pinned when it is the only piece between its king and an enemy
+     * slider that would otherwise attack the king along that line.
+     */
+    private static long pinnedPieces(ChessBoard board, int king,
+                                     ChessGame.TeamColor us, ChessGame.TeamColor them) {
+        long enemies = board.teamMask(them);
+        long queens = board.pieceMask(them, ChessPiece.PieceType.QUEEN);
+        long snipers = (Attacks.rook(king, enemies) & (board.pieceMask(them, ChessPiece.PieceType.ROOK) | queens))
+                | (Attacks.bishop(king, enemies) & (board.pieceMask(them, ChessPiece.PieceType.BISHOP) | queens));
+
+        long occupied = board.occupiedMask();
+        long own = board.teamMask(us);
+        long pinned = 0;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+}
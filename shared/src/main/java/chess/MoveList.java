@@ -0,0 +1,79 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable buffer of moves stored as encoded ints (see {@link ChessMove#encode()}).
+ * Move generation writes into a caller-supplied list so hot loops can run
+ * without allocating a collection or a ChessMove per move.
+ */
+public final class MoveList {
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(256);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public void add(int from, int to, ChessPiece.PieceType promotionPiece) {
+        add(ChessMove.encode(from, to, promotionPiece));
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Drops every move at or after the given index, keeping the first {@code size} moves
+     */
+    public void truncate(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return a copy of the encoded moves, sized to fit
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    /**
+     * @return the moves decoded into a new list of ChessMoves
+     */
+    public List<ChessMove> toMoves() {
+        List<ChessMove> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ChessMove.decode(moves[i]));
+        }
+        return result;
+    }
+}
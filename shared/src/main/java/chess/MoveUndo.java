@@ -0,0 +1,17 @@
+package chess;
+
+/**
+ * Everything needed to take back a move applied with
+ * {@link ChessGame#makeMoveUnchecked(ChessMove)}
+ *
+ * @param move          the move that was applied
+ * @param movedPiece    the piece that left the start square, before any promotion
+ * @param capturedPiece the piece that stood on the end square, or null
+ * @param previousTurn  whose turn it was before the move
+ */
+public record MoveUndo(
+        ChessMove move,
+        ChessPiece movedPiece,
+        ChessPiece capturedPiece,
+        ChessGame.TeamColor previousTurn
+) {}
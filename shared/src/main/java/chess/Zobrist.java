@@ -0,0 +1,34 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the key
+ * for every piece on its square, plus {@link #BLACK_TO_MOVE} when it is black's
+ * turn, so adding or removing a piece updates the key with a single XOR.
+ * <p>
+ * The keys come from a fixed seed so that the same position hashes to the same
+ * key in every JVM.
+ */
+final class Zobrist {
+    private static final int TYPE_COUNT = ChessPiece.PieceType.values().length;
+    private static final long[] PIECE_SQUARE_KEYS = new long[2 * TYPE_COUNT * 64];
+
+    static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2400_C4E55L);
+        for (int i = 0; i < PIECE_SQUARE_KEYS.length; i++) {
+            PIECE_SQUARE_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    static long pieceKey(ChessPiece piece, int square) {
+        int index = piece.getTeamColor().ordinal() * TYPE_COUNT + piece.getPieceType().ordinal();
+        return PIECE_SQUARE_KEYS[index * 64 + square];
+    }
+}
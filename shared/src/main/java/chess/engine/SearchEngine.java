@@ -0,0 +1,424 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.Evaluation;
+import chess.MoveList;
+import chess.MoveUndo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds a good move for the side to move with iterative-deepening alpha-beta
+ * search in negamax form. Each iteration searches one ply deeper than the last,
+ * trying the previous best move first, until the {@link SearchLimits} run out;
+ * the answer is the best move of the deepest iteration that finished.
+ * <p>
+ * Leaves are settled with a quiescence search over captures and promotions so
+ * the score is not taken in the middle of an exchange. Moves are tried captures
+ * first, most valuable victim and least valuable attacker first, which is what
+ * lets alpha-beta cut off most of the tree. Positions are scored with the
+ * board's incrementally maintained {@link ChessBoard#evaluate()}.
+ * <p>
+ * Results are kept in a {@link TranspositionTable} that lives as long as the
+ * engine, so positions reached by transposition, by the next iteration or by the
+ * next search in the same game are not searched again from scratch.
+ * <p>
+ * With more than one thread the engine runs a lazy SMP search: helper threads
+ * search the same root on their own copies of the game, half of them a ply
+ * ahead, and share nothing but the table. Their results reach the main thread
+ * only through the table, as cutoffs and move ordering, so the main thread gets
+ * deeper in the same time. The answer and the limits are still those of the
+ * main thread, which runs on the caller; with one thread the search is fully
+ * deterministic.
+ * <p>
+ * An engine keeps move buffers between searches, so one engine must not run
+ * two searches at once.
+ */
+public class SearchEngine {
+    /**
+     * Score of being mated on the board; a mate found n plies into the search
+     * scores MATE - n, so shorter mates are preferred
+     */
+    public static final int MATE = 100_000;
+    /**
+     * Deepest ply the search, including quiescence, will reach
+     */
+    public static final int MAX_PLY = 128;
+
+    private static final int INFINITY = MATE + 1;
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int FIRST_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int PROMOTION_SCORE = 500_000;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final TranspositionTable table;
+    private final int threads;
+    private final Worker mainWorker = new Worker();
+    private volatile boolean stopped;
+
+    public SearchEngine() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table where to keep search results between positions and searches
+     */
+    public SearchEngine(TranspositionTable table) {
+        this(table, 1);
+    }
+
+    /**
+     * @param table   where to keep search results; shared by all threads
+     * @param threads how many threads search each position, counting the caller's
+     */
+    public SearchEngine(TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread");
+        }
+        this.table = table;
+        this.threads = threads;
+    }
+
+    /**
+     * Searches the position for the side to move. The node budget counts only
+     * the main thread's nodes; the result's node count includes every thread's.
+     *
+     * @param position the game to search; it is copied, so it is not modified
+     * @param limits   when to stop
+     * @return the best move found with its score
+     */
+    public SearchResult search(ChessGame position, SearchLimits limits) {
+        long start = System.nanoTime();
+        stopped = false;
+        table.newSearch();
+        ChessGame root = new ChessGame(position.getBoard().deepCopy(), position.getTeamTurn());
+        // Taking the key builds the root board's indexes here, on the caller's
+        // thread, so each worker copies them rather than rebuilding its own
+        root.positionKey();
+
+        List<Worker> helpers = new ArrayList<>(threads - 1);
+        List<Thread> helperThreads = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            Worker helper = new Worker();
+            int firstDepth = 1 + i % 2;
+            Thread thread = new Thread(() -> helper.search(root, SearchLimits.MAX_DEPTH, firstDepth, 0, 0),
+                    "search-helper-" + i);
+            thread.setDaemon(true);
+            helpers.add(helper);
+            helperThreads.add(thread);
+        }
+        helperThreads.forEach(Thread::start);
+
+        long deadline = limits.maxMillis() == 0 ? Long.MAX_VALUE : start + limits.maxMillis() * 1_000_000;
+        long nodeLimit = limits.maxNodes() == 0 ? Long.MAX_VALUE : limits.maxNodes();
+        SearchResult result;
+        try {
+            result = mainWorker.search(root, limits.maxDepth(), 1, deadline, nodeLimit);
+        } finally {
+            stopped = true;
+            for (Thread thread : helperThreads) {
+                joinQuietly(thread);
+            }
+        }
+
+        long nodes = result.nodes();
+        for (Worker helper : helpers) {
+            nodes += helper.nodes;
+        }
+        return new SearchResult(result.bestMove(), result.score(), result.depth(), nodes, System.nanoTime() - start);
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Mate scores count plies from the root, but a table entry may be reached at
+     * another ply, so they are stored counting from the position instead.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * One thread's search: its own copy of the game and its own move buffers
+     */
+    private final class Worker {
+        private final MoveList[] moveLists = new MoveList[MAX_PLY];
+        private final int[][] orderScores = new int[MAX_PLY][];
+
+        private ChessGame game;
+        private ChessBoard board;
+        private long nodes;
+        private long nodeLimit;
+        private long deadline;
+        private int rootBestMove;
+
+        /*
+         * Runs iterative deepening from firstDepth to maxDepth. Only the main
+         * worker has budgets; when it runs out it stops every worker.
+         */
+        SearchResult search(ChessGame position, int maxDepth, int firstDepth, long deadline, long nodeLimit) {
+            board = position.getBoard().deepCopy();
+            game = new ChessGame(board, position.getTeamTurn());
+            nodes = 0;
+            this.nodeLimit = nodeLimit == 0 ? Long.MAX_VALUE : nodeLimit;
+            this.deadline = deadline == 0 ? Long.MAX_VALUE : deadline;
+
+            int bestMove = 0;
+            int bestScore = 0;
+            int completedDepth = 0;
+            for (int depth = firstDepth; depth <= maxDepth; depth++) {
+                rootBestMove = bestMove;
+                int score = alphaBeta(depth, 0, -INFINITY, INFINITY);
+                if (stopped && completedDepth > 0) {
+                    break;
+                }
+                bestMove = rootBestMove;
+                bestScore = score;
+                completedDepth = depth;
+                if (stopped || rootBestMove == 0 || Math.abs(score) >= MATE - MAX_PLY) {
+                    break;
+                }
+            }
+            if (bestMove == 0 && stopped) {
+                // The budget ran out before any root move was searched; any legal move beats none
+                MoveList moves = movesAt(0);
+                game.legalMoves(game.getTeamTurn(), moves);
+                bestMove = moves.isEmpty() ? 0 : moves.get(0);
+            }
+
+            ChessMove move = bestMove == 0 ? null : ChessMove.decode(bestMove);
+            return new SearchResult(move, bestScore, completedDepth, nodes, 0);
+        }
+
+        private int alphaBeta(int depth, int ply, int alpha, int beta) {
+            if (depth == 0 || ply == MAX_PLY - 1) {
+                return quiesce(ply, alpha, beta);
+            }
+            if (countNode()) {
+                return 0;
+            }
+
+            long key = game.positionKey();
+            long entry = table.probe(key);
+            int hashMove = 0;
+            if (entry != TranspositionTable.MISS) {
+                hashMove = TranspositionTable.move(entry);
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+
+            MoveList moves = movesAt(ply);
+            game.legalMoves(game.getTeamTurn(), moves);
+            if (moves.isEmpty()) {
+                return isInCheck() ? -MATE + ply : 0;
+            }
+            scoreMoves(moves, ply, ply == 0 && rootBestMove != 0 ? rootBestMove : hashMove);
+
+            int originalAlpha = alpha;
+            int best = -INFINITY;
+            int bestMove = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = pickNext(moves, ply, i);
+                MoveUndo undo = game.makeMoveUnchecked(ChessMove.decode(move));
+                int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+                game.unmakeMove(undo);
+                if (stopped) {
+                    return 0;
+                }
+
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                    if (ply == 0) {
+                        rootBestMove = move;
+                    }
+                }
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best > originalAlpha ? TranspositionTable.EXACT
+                    : TranspositionTable.UPPER;
+            table.store(key, depth, toTable(best, ply), bound,
+                    bound == TranspositionTable.UPPER ? 0 : bestMove);
+            return best;
+        }
+
+        /*
+         * Searches only captures and promotions until the position is quiet. The side
+         * to move may also stand pat on the static evaluation, since it is never
+         * forced to capture.
+         */
+        private int quiesce(int ply, int alpha, int beta) {
+            if (countNode()) {
+                return 0;
+            }
+            int standPat = evaluate();
+            if (standPat >= beta || ply == MAX_PLY - 1) {
+                return standPat;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+
+            MoveList moves = movesAt(ply);
+            game.legalMoves(game.getTeamTurn(), moves);
+            int tactical = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if (isCapture(move) || ChessMove.encodedPromotion(move) != null) {
+                    moves.set(tactical++, move);
+                }
+            }
+            moves.truncate(tactical);
+            scoreMoves(moves, ply, 0);
+
+            for (int i = 0; i < moves.size(); i++) {
+                int move = pickNext(moves, ply, i);
+                MoveUndo undo = game.makeMoveUnchecked(ChessMove.decode(move));
+                int score = -quiesce(ply + 1, -beta, -alpha);
+                game.unmakeMove(undo);
+                if (stopped) {
+                    return 0;
+                }
+
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+            return alpha;
+        }
+
+        /*
+         * Counts a node and checks the budgets, the clock only every few thousand
+         * nodes. Returns true once the search must stop.
+         */
+        private boolean countNode() {
+            nodes++;
+            if (nodes >= nodeLimit || (nodes % CHECK_INTERVAL == 0 && System.nanoTime() >= deadline)) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        /**
+         * The board's static evaluation from the side to move's point of view
+         */
+        private int evaluate() {
+            int score = board.evaluate();
+            return game.getTeamTurn() == ChessGame.TeamColor.WHITE ? score : -score;
+        }
+
+        private boolean isInCheck() {
+            ChessGame.TeamColor turn = game.getTeamTurn();
+            return board.hasKing(turn) && game.isInCheck(turn);
+        }
+
+        private boolean isCapture(int move) {
+            return (board.occupiedMask() & (1L << ChessMove.encodedTo(move))) != 0;
+        }
+
+        /*
+         * Gives each move an ordering score: the first move to try, then captures by
+         * most valuable victim and least valuable attacker, then promotions, then the rest.
+         */
+        private void scoreMoves(MoveList moves, int ply, int firstMove) {
+            int[] scores = orderScores[ply];
+            if (scores == null || scores.length < moves.size()) {
+                scores = new int[Math.max(moves.size(), 256)];
+                orderScores[ply] = scores;
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                int score = 0;
+                if (move == firstMove) {
+                    score = FIRST_MOVE_SCORE;
+                } else if (isCapture(move)) {
+                    ChessPiece victim = board.getPiece(ChessPosition.fromIndex(ChessMove.encodedTo(move)));
+                    ChessPiece attacker = board.getPiece(ChessPosition.fromIndex(ChessMove.encodedFrom(move)));
+                    score = CAPTURE_SCORE + Evaluation.pieceValue(victim.getPieceType()) * 10
+                            - Evaluation.pieceValue(attacker.getPieceType()) / 10;
+                } else if (ChessMove.encodedPromotion(move) != null) {
+                    score = PROMOTION_SCORE + Evaluation.pieceValue(ChessMove.encodedPromotion(move));
+                }
+                scores[i] = score;
+            }
+        }
+
+        /*
+         * Selection sort one step at a time: swaps the best remaining move into
+         * place, so a cutoff early in the list skips sorting the rest.
+         */
+        private int pickNext(MoveList moves, int ply, int index) {
+            int[] scores = orderScores[ply];
+            int best = index;
+            for (int i = index + 1; i < moves.size(); i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            int move = moves.get(best);
+            if (best != index) {
+                moves.set(best, moves.get(index));
+                moves.set(index, move);
+                int score = scores[best];
+                scores[best] = scores[index];
+                scores[index] = score;
+            }
+            return move;
+        }
+
+        private MoveList movesAt(int ply) {
+            MoveList moves = moveLists[ply];
+            if (moves == null) {
+                moves = new MoveList();
+                moveLists[ply] = moves;
+            }
+            moves.clear();
+            return moves;
+        }
+    }
+}
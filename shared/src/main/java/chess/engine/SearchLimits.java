@@ -0,0 +1,41 @@
+package chess.engine;
+
+/**
+ * How long a search may run. The search stops at whichever limit it reaches
+ * first and answers with the deepest iteration it finished.
+ *
+ * @param maxDepth  deepest iteration to search, in plies
+ * @param maxMillis wall-clock budget, or 0 for none
+ * @param maxNodes  node budget, or 0 for none
+ */
+public record SearchLimits(
+        int maxDepth,
+        long maxMillis,
+        long maxNodes
+) {
+    /**
+     * Deepest search allowed when only time or nodes are limited
+     */
+    public static final int MAX_DEPTH = 64;
+
+    public SearchLimits {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Search depth must be between 1 and " + MAX_DEPTH);
+        }
+        if (maxMillis < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("Search budgets cannot be negative");
+        }
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    public static SearchLimits millis(long millis) {
+        return new SearchLimits(MAX_DEPTH, millis, 0);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, 0, nodes);
+    }
+}
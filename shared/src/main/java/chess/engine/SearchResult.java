@@ -0,0 +1,26 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+/**
+ * @param bestMove the move to play, or null if the side to move has no legal moves
+ * @param score    centipawns from the side to move's point of view; mates score
+ *                 within {@link SearchEngine#MAX_PLY} of {@link SearchEngine#MATE}
+ * @param depth    the deepest iteration that finished
+ * @param nodes    positions visited, including quiescence
+ * @param nanos    wall-clock time the search took
+ */
+public record SearchResult(
+        ChessMove bestMove,
+        int score,
+        int depth,
+        long nodes,
+        long nanos
+) {
+    /**
+     * @return true if the score is a forced mate for either side
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= SearchEngine.MATE - SearchEngine.MAX_PLY;
+    }
+}
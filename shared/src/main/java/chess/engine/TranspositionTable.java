@@ -0,0 +1,158 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * Remembers what the search learned about positions it has already visited,
+ * keyed by {@link chess.ChessGame#positionKey()}, so a position reached again
+ * through a different move order can reuse the result or at least try the best
+ * move first.
+ * <p>
+ * The table is two preallocated arrays, one of keys and one of packed entries,
+ * and never allocates after construction. Entries come in buckets of two: the
+ * first slot keeps the deepest result seen (the most expensive to recompute)
+ * unless it is from an earlier search, and the second slot always takes the
+ * newest result that did not fit in the first.
+ * <p>
+ * The table can be shared by several searching threads without locks. Each slot
+ * stores its key XORed with its entry, so an entry torn by two threads writing
+ * the same slot at once no longer matches its key and reads as a miss. A thread
+ * may still lose another's result to a racing write, which only costs a re-search.
+ * <p>
+ * An entry is a single long, read with the static accessors:
+ * <pre>
+ *  bits 0-15   best move, encoded as in {@link chess.ChessMove#encode()}, or 0
+ *  bits 16-23  depth searched
+ *  bits 24-25  bound type
+ *  bits 26-31  search generation
+ *  bits 32-63  score
+ * </pre>
+ */
+public final class TranspositionTable {
+    /**
+     * Returned by {@link #probe(long)} when the position is not in the table.
+     * Stored entries are never 0 since their bound is never 0.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * The score is exact
+     */
+    public static final int EXACT = 1;
+    /**
+     * The search failed high: the true score is at least this
+     */
+    public static final int LOWER = 2;
+    /**
+     * The search failed low: the true score is at most this
+     */
+    public static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int GENERATION_MASK = 63;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * @param megabytes memory to use; the number of buckets is rounded down to a power of two
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 1024) {
+            throw new IllegalArgumentException("Table size must be between 1 and 1024 MB");
+        }
+        int buckets = Integer.highestOneBit((int) ((long) megabytes * 1024 * 1024 / (2 * ENTRY_BYTES)));
+        keys = new long[buckets * 2];
+        entries = new long[buckets * 2];
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * Marks the start of a new search, so results from earlier searches give way
+     * to new ones even when they were searched deeper
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, 0);
+        generation = 0;
+    }
+
+    /**
+     * @return the packed entry for the position, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int slot = slotOf(key);
+        for (int i = slot; i < slot + 2; i++) {
+            long entry = entries[i];
+            if (entry != MISS && (keys[i] ^ entry) == key) {
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Records a search result for a position
+     *
+     * @param key   the position key
+     * @param depth plies searched below the position
+     * @param score the score, with mate scores relative to the position
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param move  the best move found as an encoded move, or 0 if none
+     */
+    public void store(long key, int depth, int score, int bound, int move) {
+        int slot = slotOf(key);
+        long deepest = entries[slot];
+        if ((keys[slot] ^ deepest) != key
+                && deepest != MISS
+                && generation(deepest) == generation
+                && depth(deepest) > depth) {
+            slot++;
+        }
+        long previous = entries[slot];
+        if (move == 0 && previous != MISS && (keys[slot] ^ previous) == key) {
+            move = move(previous);
+        }
+        long entry = pack(depth, score, bound, move);
+        keys[slot] = key ^ entry;
+        entries[slot] = entry;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 16 & 0xFF);
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 24 & 3);
+    }
+
+    public static int score(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 26 & GENERATION_MASK);
+    }
+
+    private long pack(int depth, int score, int bound, int move) {
+        return (long) score << 32
+                | (long) generation << 26
+                | (long) bound << 24
+                | (long) depth << 16
+                | move;
+    }
+
+    private int slotOf(long key) {
+        return (int) (key & bucketMask) << 1;
+    }
+}
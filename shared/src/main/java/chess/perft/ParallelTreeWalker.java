@@ -0,0 +1,128 @@
+package chess.perft;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.MoveList;
+import chess.MoveUndo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToLongFunction;
+
+/**
+ * Walks the legal move tree below a position on a fork-join pool. The first few
+ * plies are split into one task per move, each with its own copy of the game;
+ * below that each task walks its subtree sequentially with make/unmake, the
+ * same way {@link Perft} does.
+ */
+public class ParallelTreeWalker {
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    /**
+     * Uses the common pool and splits the first two plies, which gives several
+     * hundred tasks from a typical position
+     */
+    public ParallelTreeWalker() {
+        this(ForkJoinPool.commonPool(), 2);
+    }
+
+    /**
+     * @param pool       the pool to run tasks on
+     * @param splitDepth how many plies below the root get a task per move
+     */
+    public ParallelTreeWalker(ForkJoinPool pool, int splitDepth) {
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * Counts the leaf nodes at the given depth, like {@link Perft#count(int)}
+     *
+     * @param root the position to count from; it is not modified
+     */
+    public PerftResult countNodes(ChessGame root, int depth) {
+        long start = System.nanoTime();
+        long nodes = pool.invoke(new WalkTask(copyOf(root), depth, splitDepth, null));
+        return new PerftResult(nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Applies a function to every position at the given depth and adds up the results,
+     * for example to count the checkmates reachable in a number of plies.
+     * The function may be called from many threads at once, each time with a game
+     * owned by the calling task that it must not keep.
+     *
+     * @param root      the position to walk from; it is not modified
+     * @param leafValue scores one leaf position
+     * @return the sum of the scores of all leaf positions
+     */
+    public long sumLeaves(ChessGame root, int depth, ToLongFunction<ChessGame> leafValue) {
+        return pool.invoke(new WalkTask(copyOf(root), depth, splitDepth, leafValue));
+    }
+
+    private static ChessGame copyOf(ChessGame game) {
+        return new ChessGame(game.getBoard().deepCopy(), game.getTeamTurn());
+    }
+
+    private static class WalkTask extends RecursiveTask<Long> {
+        private final ChessGame game;
+        private final int depth;
+        private final int splitsLeft;
+        private final ToLongFunction<ChessGame> leafValue;
+
+        WalkTask(ChessGame game, int depth, int splitsLeft, ToLongFunction<ChessGame> leafValue) {
+            this.game = game;
+            this.depth = depth;
+            this.splitsLeft = splitsLeft;
+            this.leafValue = leafValue;
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitsLeft == 0 || depth <= 1) {
+                return walk(depth, new MoveList[depth]);
+            }
+
+            MoveList moves = new MoveList();
+            game.legalMoves(game.getTeamTurn(), moves);
+            List<WalkTask> children = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                ChessGame child = copyOf(game);
+                child.makeMoveUnchecked(ChessMove.decode(moves.get(i)));
+                children.add(new WalkTask(child, depth - 1, splitsLeft - 1, leafValue));
+            }
+            long total = 0;
+            for (WalkTask child : invokeAll(children)) {
+                total += child.join();
+            }
+            return total;
+        }
+
+        private long walk(int remaining, MoveList[] buffers) {
+            if (remaining == 0) {
+                return leafValue == null ? 1 : leafValue.applyAsLong(game);
+            }
+            MoveList moves = buffers[remaining - 1];
+            if (moves == null) {
+                moves = new MoveList();
+                buffers[remaining - 1] = moves;
+            }
+            moves.clear();
+            game.legalMoves(game.getTeamTurn(), moves);
+            if (remaining == 1 && leafValue == null) {
+                return moves.size();
+            }
+
+            long total = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                MoveUndo undo = game.makeMoveUnchecked(ChessMove.decode(moves.get(i)));
+                total += walk(remaining - 1, buffers);
+                game.unmakeMove(undo);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package chess.perft;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.MoveList;
+import chess.MoveUndo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree below a position. The counts are
+ * compared against published values to prove move generation correct, and the
+ * time taken gives a nodes-per-second figure to track between releases.
+ * <p>
+ * Run from the command line with
+ * <pre>java -cp shared/target/classes chess.perft.Perft [depth] [position] [divide|parallel]</pre>
+ * where position is one of the {@link PerftPosition} names (START by default)
+ * or a quoted FEN string, divide prints the count below each root move and
+ * parallel counts on every core with a {@link ParallelTreeWalker}.
+ */
+public class Perft {
+    private final ChessGame game;
+    private MoveList[] buffers = new MoveList[0];
+
+    /**
+     * @param game the position to count from. It is played forward and taken
+     *             back in place while counting, and is left as it was found.
+     */
+    public Perft(ChessGame game) {
+        this.game = game;
+    }
+
+    /**
+     * @return the number of leaf nodes at the given depth, with timing
+     */
+    public PerftResult count(int depth) {
+        long start = System.nanoTime();
+        ensureBuffers(depth);
+        long nodes = countNodes(depth);
+        return new PerftResult(nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of leaf nodes below each legal root move, in generation order
+     */
+    public Map<ChessMove, Long> divide(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1");
+        }
+        ensureBuffers(depth);
+        MoveList moves = new MoveList();
+        game.legalMoves(game.getTeamTurn(), moves);
+
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            ChessMove move = ChessMove.decode(moves.get(i));
+            MoveUndo undo = game.makeMoveUnchecked(move);
+            counts.put(move, countNodes(depth - 1));
+            game.unmakeMove(undo);
+        }
+        return counts;
+    }
+
+    private long countNodes(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = buffers[depth - 1];
+        moves.clear();
+        game.legalMoves(game.getTeamTurn(), moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            MoveUndo undo = game.makeMoveUnchecked(ChessMove.decode(moves.get(i)));
+            nodes += countNodes(depth - 1);
+            game.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    private void ensureBuffers(int depth) {
+        if (buffers.length < depth) {
+            buffers = new MoveList[depth];
+            for (int i = 0; i < depth; i++) {
+                buffers[i] = new MoveList();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        String name = args.length > 1 ? args[1] : PerftPosition.START.name();
+        PerftPosition position = name.contains("/") ? null : PerftPosition.valueOf(name.toUpperCase());
+        ChessGame game = position == null ? ChessGame.fromFen(name) : position.newGame();
+        boolean divide = args.length > 2 && args[2].equalsIgnoreCase("divide");
+        boolean parallel = args.length > 2 && args[2].equalsIgnoreCase("parallel");
+
+        Perft perft = new Perft(game);
+        ParallelTreeWalker walker = new ParallelTreeWalker();
+        if (divide) {
+            long total = 0;
+            for (Map.Entry<ChessMove, Long> entry : perft.divide(depth).entrySet()) {
+                System.out.println(describe(entry.getKey()) + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.println("Total: " + total);
+            return;
+        }
+
+        for (int d = 1; d <= depth; d++) {
+            PerftResult result = parallel ? walker.countNodes(game, d) : perft.count(d);
+            String expected = position != null && d <= position.maxKnownDepth()
+                    ? " (expected " + position.expectedNodes(d) + ")"
+                    : "";
+            System.out.printf("perft(%d) = %d%s in %.3fs, %d nodes/s%n",
+                    d, result.nodes(), expected, result.nanos() / 1e9, result.nodesPerSecond());
+        }
+    }
+
+    private static String describe(ChessMove move) {
+        String text = square(move.getStartPosition().index()) + square(move.getEndPosition().index());
+        if (move.getPromotionPiece() != null) {
+            text += "=" + move.getPromotionPiece();
+        }
+        return text;
+    }
+
+    private static String square(int index) {
+        return "" + (char) ('a' + index % 8) + (index / 8 + 1);
+    }
+}
@@ -0,0 +1,44 @@
+package chess.perft;
+
+import chess.ChessGame;
+
+/**
+ * Positions with published perft node counts. Only positions where castling and
+ * en passant never come into play at the listed depths are used, since this
+ * implementation supports neither; their FEN castling fields are ignored.
+ */
+public enum PerftPosition {
+    START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 20, 400, 8_902, 197_281),
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191),
+    PROMOTIONS("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1", 24, 496, 9_483, 182_838);
+
+    private final String fen;
+    private final long[] expectedNodes;
+
+    PerftPosition(String fen, long... expectedNodes) {
+        this.fen = fen;
+        this.expectedNodes = expectedNodes;
+    }
+
+    /**
+     * @return a new game set up at this position
+     */
+    public ChessGame newGame() {
+        return ChessGame.fromFen(fen);
+    }
+
+    /**
+     * @return the deepest depth with a known node count
+     */
+    public int maxKnownDepth() {
+        return expectedNodes.length;
+    }
+
+    /**
+     * @param depth search depth, from 1 to {@link #maxKnownDepth()}
+     * @return the published node count at that depth
+     */
+    public long expectedNodes(int depth) {
+        return expectedNodes[depth - 1];
+    }
+}
@@ -0,0 +1,14 @@
+package chess.perft;
+
+/**
+ * @param nodes leaf nodes counted
+ * @param nanos wall-clock time the count took
+ */
+public record PerftResult(
+        long nodes,
+        long nanos
+) {
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+    }
+}
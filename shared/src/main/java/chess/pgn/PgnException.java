@@ -0,0 +1,16 @@
+package chess.pgn;
+
+/**
+ * Indicates a PGN game could not be read. The reader has already skipped past
+ * the bad game, so reading can carry on with the next one.
+ */
+public class PgnException extends Exception {
+
+    public PgnException(String message) {
+        super(message);
+    }
+
+    public PgnException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game from a PGN file
+ *
+ * @param tags   the tag pairs, such as Event, White and Black, in file order
+ * @param moves  the moves of the main line, from the starting position
+ * @param result the game termination marker: 1-0, 0-1, 1/2-1/2 or * if unknown
+ */
+public record PgnGame(
+        Map<String, String> tags,
+        List<ChessMove> moves,
+        String result
+) {
+    /**
+     * @return a new game at the position the moves start from: the FEN tag's
+     * position if there is one, otherwise the standard starting position
+     */
+    public ChessGame startingPosition() {
+        String fen = tags.get("FEN");
+        return fen == null ? new ChessGame() : ChessGame.fromFen(fen);
+    }
+
+    /**
+     * @return a new game with every move played from the starting position
+     * @throws InvalidMoveException if a move is not legal where it is played
+     */
+    public ChessGame play() throws InvalidMoveException {
+        ChessGame game = startingPosition();
+        for (ChessMove move : moves) {
+            game.makeMove(move);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,269 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads games from PGN text one at a time, so a file of any size can be read in
+ * the memory of a single game. Each move is resolved against the legal moves of
+ * the position it is played in, and the game is replayed as it is read.
+ * <p>
+ * Comments, variations, numeric annotations and escape lines are skipped; only
+ * the tags and the main line are kept. A game that cannot be read is skipped
+ * as a whole and reported with a {@link PgnException}, after which reading can
+ * continue with the next game.
+ */
+public class PgnReader implements Closeable {
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final StringBuilder token = new StringBuilder(16);
+    private int peeked = EOF;
+    private boolean hasPeeked;
+    private int line = 1;
+    private boolean lineStart = true;
+
+    public PgnReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+    }
+
+    /**
+     * Reads the next game
+     *
+     * @return the game, or null when there are no more games
+     * @throws PgnException if the game's tags or moves are malformed or illegal
+     * @throws IOException  if the underlying reader fails
+     */
+    public PgnGame next() throws IOException, PgnException {
+        skipSpaceAndComments();
+        if (peek() == EOF) {
+            return null;
+        }
+        int gameLine = line;
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        String error = null;
+        while (peek() == '[') {
+            try {
+                readTag(tags);
+            } catch (PgnException e) {
+                error = e.getMessage();
+                skipLine();
+            }
+            skipSpaceAndComments();
+        }
+
+        ChessGame game = null;
+        if (error == null) {
+            try {
+                game = new PgnGame(tags, List.of(), "*").startingPosition();
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+        }
+
+        List<ChessMove> moves = new ArrayList<>();
+        String result = "*";
+        while (true) {
+            skipSpaceAndComments();
+            int c = peek();
+            if (c == EOF || c == '[') {
+                break;
+            }
+            if (c == '(') {
+                skipVariation();
+                continue;
+            }
+            if (c == ')') {
+                read();
+                error = error == null ? "Unmatched ')' on line " + line : error;
+                continue;
+            }
+
+            String text = readToken();
+            if (isResult(text)) {
+                result = text;
+                break;
+            }
+            if (text.startsWith("$") || error != null) {
+                continue;
+            }
+            String san = stripMoveNumber(text);
+            if (san.isEmpty()) {
+                continue;
+            }
+            try {
+                ChessMove move = San.parse(game, san);
+                game.makeMoveUnchecked(move);
+                moves.add(move);
+            } catch (InvalidMoveException e) {
+                error = e.getMessage() + " on line " + line;
+            }
+        }
+
+        if (error != null) {
+            throw new PgnException("Cannot read game starting on line " + gameLine + ": " + error);
+        }
+        return new PgnGame(tags, moves, result);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readTag(Map<String, String> tags) throws IOException, PgnException {
+        read();
+        skipSpace();
+        token.setLength(0);
+        while (peek() != EOF && !Character.isWhitespace(peek()) && peek() != '"' && peek() != ']') {
+            token.append((char) read());
+        }
+        String name = token.toString();
+        skipSpace();
+        if (name.isEmpty() || peek() != '"') {
+            throw new PgnException("Malformed tag on line " + line);
+        }
+        read();
+
+        token.setLength(0);
+        while (true) {
+            int c = peek();
+            if (c == EOF || c == '\n') {
+                throw new PgnException("Unterminated tag value on line " + line);
+            }
+            read();
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\' && peek() != EOF && peek() != '\n') {
+                c = read();
+            }
+            token.append((char) c);
+        }
+        skipSpace();
+        if (peek() != ']') {
+            throw new PgnException("Malformed tag on line " + line);
+        }
+        read();
+        tags.put(name, token.toString());
+    }
+
+    private String readToken() throws IOException {
+        token.setLength(0);
+        for (int c = peek(); c != EOF && !Character.isWhitespace(c) && "{}();[".indexOf(c) < 0; c = peek()) {
+            token.append((char) read());
+        }
+        if (token.isEmpty()) {
+            // A stray delimiter such as '}'; consume it so reading moves on
+            token.append((char) read());
+        }
+        return token.toString();
+    }
+
+    /*
+     * Skips a parenthesized variation, including any nested variations and
+     * comments, which may themselves contain parentheses
+     */
+    private void skipVariation() throws IOException {
+        int depth = 0;
+        do {
+            int c = read();
+            if (c == EOF) {
+                return;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            }
+        } while (depth > 0);
+    }
+
+    private void skipSpaceAndComments() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == '%' && lineStart) {
+                skipUntil('\n');
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            } else if (c != EOF && Character.isWhitespace(c)) {
+                read();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipSpace() throws IOException {
+        while (peek() != EOF && Character.isWhitespace(peek()) && peek() != '\n') {
+            read();
+        }
+    }
+
+    private void skipLine() throws IOException {
+        skipUntil('\n');
+    }
+
+    private void skipUntil(char end) throws IOException {
+        for (int c = read(); c != EOF && c != end; c = read()) {
+            // skip
+        }
+    }
+
+    private int peek() throws IOException {
+        if (!hasPeeked) {
+            peeked = in.read();
+            hasPeeked = true;
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        hasPeeked = false;
+        if (c == '\n') {
+            line++;
+        }
+        lineStart = c == '\n';
+        return c;
+    }
+
+    private static boolean isResult(String text) {
+        return text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*");
+    }
+
+    /*
+     * Drops a leading move number such as "12." or "12...", which may be
+     * written against the move with no space. A token of only digits or
+     * only dots becomes empty.
+     */
+    private static String stripMoveNumber(String text) {
+        int i = 0;
+        while (i < text.length() && Character.isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == text.length() || text.charAt(i) == '.') {
+            while (i < text.length() && text.charAt(i) == '.') {
+                i++;
+            }
+            return text.substring(i);
+        }
+        return text;
+    }
+}
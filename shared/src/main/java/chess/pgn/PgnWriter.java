@@ -0,0 +1,109 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes games as PGN text one at a time, so any number of games can be exported
+ * in the memory of a single game. Each game starts with the seven standard tags,
+ * filled with "?" where the game has no value, followed by its other tags and its
+ * moves in SAN, wrapped at 80 columns.
+ */
+public class PgnWriter implements Closeable, Flushable {
+    private static final int LINE_WIDTH = 80;
+    private static final List<String> ROSTER = List.of("Event", "Site", "Date", "Round", "White", "Black", "Result");
+
+    private final Writer out;
+    private int column;
+
+    public PgnWriter(Writer out) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+    }
+
+    /**
+     * Writes one game
+     *
+     * @throws InvalidMoveException if one of the game's moves is not legal where it is played;
+     *                              nothing is written in that case
+     * @throws IOException          if the underlying writer fails
+     */
+    public void write(PgnGame game) throws IOException, InvalidMoveException {
+        ChessGame replay = game.startingPosition();
+        String[] sans = new String[game.moves().size()];
+        for (int i = 0; i < sans.length; i++) {
+            ChessMove move = game.moves().get(i);
+            sans[i] = San.format(replay, move);
+            replay.makeMoveUnchecked(move);
+        }
+
+        Map<String, String> tags = game.tags();
+        for (String name : ROSTER) {
+            String value = name.equals("Result") ? game.result() : tags.get(name);
+            writeTag(name, value != null ? value : name.equals("Date") ? "????.??.??" : "?");
+        }
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!ROSTER.contains(tag.getKey())) {
+                writeTag(tag.getKey(), tag.getValue());
+            }
+        }
+        out.write('\n');
+
+        column = 0;
+        ChessGame.TeamColor turn = game.startingPosition().getTeamTurn();
+        int moveNumber = 1;
+        if (turn == ChessGame.TeamColor.BLACK && sans.length > 0) {
+            writeWord("1...");
+        }
+        for (String san : sans) {
+            if (turn == ChessGame.TeamColor.WHITE) {
+                writeWord(moveNumber + ".");
+            } else {
+                moveNumber++;
+            }
+            writeWord(san);
+            turn = turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        }
+        writeWord(game.result());
+        out.write("\n\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        out.write("\"]\n");
+    }
+
+    private void writeWord(String word) throws IOException {
+        if (column > 0 && column + 1 + word.length() > LINE_WIDTH) {
+            out.write('\n');
+            column = 0;
+        }
+        if (column > 0) {
+            out.write(' ');
+            column++;
+        }
+        out.write(word);
+        column += word.length();
+    }
+}
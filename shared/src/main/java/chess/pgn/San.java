@@ -0,0 +1,197 @@
+package chess.pgn;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.GameStatus;
+import chess.InvalidMoveException;
+import chess.MoveList;
+import chess.MoveUndo;
+
+/**
+ * Standard Algebraic Notation, the move format used in PGN: {@code e4}, {@code Nxf3},
+ * {@code R1d2}, {@code exd8=Q+}. Castling ({@code O-O}) is not supported since the
+ * game does not support it.
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "KQBNRP";
+
+    private San() {
+    }
+
+    /**
+     * Finds the legal move a SAN string describes in the given position. Check,
+     * mate and annotation suffixes such as {@code +}, {@code #} and {@code !?} are ignored.
+     *
+     * @param game the position the move is played in, with the mover to move
+     * @param san  the move text
+     * @return the matching legal move
+     * @throws InvalidMoveException if the text does not describe exactly one legal move
+     */
+    public static ChessMove parse(ChessGame game, String san) throws InvalidMoveException {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (san.startsWith("O-O") || san.startsWith("0-0")) {
+            throw new InvalidMoveException("Castling is not supported: " + san);
+        }
+
+        ChessPiece.PieceType promotion = null;
+        if (end >= 2 && pieceType(san.charAt(end - 1)) != null && Character.isLowerCase(san.charAt(0))) {
+            promotion = pieceType(san.charAt(end - 1));
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end < 2) {
+            throw new InvalidMoveException("Not a SAN move: " + san);
+        }
+        int toCol = san.charAt(end - 2) - 'a' + 1;
+        int toRow = san.charAt(end - 1) - '0';
+        if (toCol < 1 || toCol > 8 || toRow < 1 || toRow > 8) {
+            throw new InvalidMoveException("Not a SAN move: " + san);
+        }
+
+        int start = 0;
+        ChessPiece.PieceType type = ChessPiece.PieceType.PAWN;
+        if (Character.isUpperCase(san.charAt(0))) {
+            type = pieceType(san.charAt(0));
+            if (type == null || type == ChessPiece.PieceType.PAWN) {
+                throw new InvalidMoveException("Not a SAN move: " + san);
+            }
+            start = 1;
+        }
+        int fromCol = 0;
+        int fromRow = 0;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromCol = c - 'a' + 1;
+            } else if (c >= '1' && c <= '8') {
+                fromRow = c - '0';
+            } else if (c != 'x' && c != ':' && c != '-') {
+                throw new InvalidMoveException("Not a SAN move: " + san);
+            }
+        }
+
+        ChessBoard board = game.getBoard();
+        int to = ChessPosition.of(toRow, toCol).index();
+        MoveList moves = new MoveList(64);
+        game.legalMoves(game.getTeamTurn(), moves);
+        int found = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            ChessPosition from = ChessPosition.fromIndex(ChessMove.encodedFrom(move));
+            if (ChessMove.encodedTo(move) == to
+                    && ChessMove.encodedPromotion(move) == promotion
+                    && board.getPiece(from).getPieceType() == type
+                    && (fromCol == 0 || from.getColumn() == fromCol)
+                    && (fromRow == 0 || from.getRow() == fromRow)) {
+                if (found != 0) {
+                    throw new InvalidMoveException("Ambiguous move: " + san);
+                }
+                found = move;
+            }
+        }
+        if (found == 0) {
+            throw new InvalidMoveException("Illegal move: " + san);
+        }
+        return ChessMove.decode(found);
+    }
+
+    /**
+     * Writes a legal move in SAN, with only as much of the start square as is
+     * needed to tell it apart from the team's other moves, and a {@code +} or
+     * {@code #} when it gives check or mate
+     *
+     * @param game the position the move is played in, with the mover to move;
+     *             it is left unchanged
+     * @param move the move to write
+     * @throws InvalidMoveException if the move is not legal in the position
+     */
+    public static String format(ChessGame game, ChessMove move) throws InvalidMoveException {
+        MoveList moves = new MoveList(64);
+        game.legalMoves(game.getTeamTurn(), moves);
+        if (!contains(moves, move.encode())) {
+            throw new InvalidMoveException("Illegal move: " + move);
+        }
+
+        ChessBoard board = game.getBoard();
+        ChessPosition from = move.getStartPosition();
+        ChessPosition to = move.getEndPosition();
+        ChessPiece.PieceType type = board.getPiece(from).getPieceType();
+        boolean capture = board.getPiece(to) != null;
+
+        StringBuilder san = new StringBuilder(8);
+        if (type == ChessPiece.PieceType.PAWN) {
+            if (capture) {
+                san.append(file(from));
+            }
+        } else {
+            san.append(letter(type));
+            boolean sameFile = false;
+            boolean sameRow = false;
+            boolean ambiguous = false;
+            for (int i = 0; i < moves.size(); i++) {
+                int other = moves.get(i);
+                ChessPosition otherFrom = ChessPosition.fromIndex(ChessMove.encodedFrom(other));
+                if (ChessMove.encodedTo(other) == to.index()
+                        && !otherFrom.equals(from)
+                        && board.getPiece(otherFrom).getPieceType() == type) {
+                    ambiguous = true;
+                    sameFile |= otherFrom.getColumn() == from.getColumn();
+                    sameRow |= otherFrom.getRow() == from.getRow();
+                }
+            }
+            if (ambiguous) {
+                if (!sameFile) {
+                    san.append(file(from));
+                } else if (!sameRow) {
+                    san.append(from.getRow());
+                } else {
+                    san.append(file(from)).append(from.getRow());
+                }
+            }
+        }
+        if (capture) {
+            san.append('x');
+        }
+        san.append(file(to)).append(to.getRow());
+        if (move.getPromotionPiece() != null) {
+            san.append('=').append(letter(move.getPromotionPiece()));
+        }
+
+        MoveUndo undo = game.makeMoveUnchecked(move);
+        GameStatus status = game.getBoard().hasKing(game.getTeamTurn()) ? game.getGameStatus() : GameStatus.IN_PROGRESS;
+        game.unmakeMove(undo);
+        if (status == GameStatus.CHECKMATE) {
+            san.append('#');
+        } else if (status == GameStatus.CHECK) {
+            san.append('+');
+        }
+        return san.toString();
+    }
+
+    private static boolean contains(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static char file(ChessPosition position) {
+        return (char) ('a' + position.getColumn() - 1);
+    }
+
+    private static char letter(ChessPiece.PieceType type) {
+        return PIECE_LETTERS.charAt(type.ordinal());
+    }
+
+    private static ChessPiece.PieceType pieceType(char c) {
+        int index = PIECE_LETTERS.indexOf(c);
+        return index < 0 ? null : ChessPiece.PieceType.values()[index];
+    }
+}
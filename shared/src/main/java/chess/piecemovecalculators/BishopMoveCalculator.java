@@ -1,22 +1,24 @@
 package chess.piecemovecalculators;
 
+import chess.Attacks;
 import chess.ChessBoard;
-import chess.ChessMove;
+import chess.ChessPiece;
 import chess.ChessPosition;
-
-import java.util.Collection;
+import chess.MoveList;
 
 public class BishopMoveCalculator extends PieceMoveCalculator {
-    private static final int[][] DIAGONAL_OFFSETS = {
-            { 1, 1 },
-            { 1, -1 },
-            { -1, 1 },
-            { -1, -1 },
-    };
+    public static final BishopMoveCalculator INSTANCE = new BishopMoveCalculator();
+
+    private BishopMoveCalculator() {
+    }
 
     @Override
-    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
-        this.board = board;
-        return generateMoves(origin, DIAGONAL_OFFSETS, true);
+    public void calculateMoves(ChessBoard board, int origin, MoveList moves) {
+        ChessPiece bishop = board.getPiece(ChessPosition.fromIndex(origin));
+        if (bishop == null) {
+            return;
+        }
+        long targets = Attacks.bishop(origin, board.occupiedMask());
+        addMoves(origin, targets & ~board.teamMask(bishop.getTeamColor()), moves);
     }
 }
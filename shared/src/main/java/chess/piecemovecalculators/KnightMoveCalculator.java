@@ -1,26 +1,23 @@
 package chess.piecemovecalculators;
 
+import chess.Attacks;
 import chess.ChessBoard;
-import chess.ChessMove;
+import chess.ChessPiece;
 import chess.ChessPosition;
-
-import java.util.Collection;
+import chess.MoveList;
 
 public class KnightMoveCalculator extends PieceMoveCalculator {
-    private static final int[][] L_SHAPE_OFFSETS = {
-            { 2, 1 },
-            { 2, -1 },
-            { -2, 1 },
-            { -2, -1 },
-            { 1, 2 },
-            { 1, -2 },
-            { -1, 2 },
-            { -1, -2 },
-    };
+    public static final KnightMoveCalculator INSTANCE = new KnightMoveCalculator();
+
+    private KnightMoveCalculator() {
+    }
 
     @Override
-    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
-        this.board = board;
-        return generateMoves(origin, L_SHAPE_OFFSETS, false);
+    public void calculateMoves(ChessBoard board, int origin, MoveList moves) {
+        ChessPiece knight = board.getPiece(ChessPosition.fromIndex(origin));
+        if (knight == null) {
+            return;
+        }
+        addMoves(origin, Attacks.knight(origin) & ~board.teamMask(knight.getTeamColor()), moves);
     }
 }
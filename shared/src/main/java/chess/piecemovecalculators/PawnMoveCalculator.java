@@ -1,26 +1,30 @@
 package chess.piecemovecalculators;
 
+import chess.Attacks;
 import chess.ChessBoard;
-import chess.ChessMove;
 import chess.ChessPosition;
 import chess.ChessPiece;
 import chess.ChessGame;
-
-import java.util.ArrayList;
-import java.util.Collection;
+import chess.MoveList;
 
 public class PawnMoveCalculator extends PieceMoveCalculator {
-    private static final int[][] CAPTURE_OFFSETS = {
-            { 1, 1 },
-            { 1, -1 },
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+            ChessPiece.PieceType.QUEEN,
+            ChessPiece.PieceType.ROOK,
+            ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.KNIGHT
     };
 
+    public static final PawnMoveCalculator INSTANCE = new PawnMoveCalculator();
+
+    private PawnMoveCalculator() {
+    }
+
     @Override
-    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
-        Collection<ChessMove> moves = new ArrayList<>();
-        ChessPiece pawn = board.getPiece(origin);
+    public void calculateMoves(ChessBoard board, int origin, MoveList moves) {
+        ChessPiece pawn = board.getPiece(ChessPosition.fromIndex(origin));
         if (pawn == null) {
-            return moves;
+            return;
         }
         ChessGame.TeamColor color = pawn.getTeamColor();
 
@@ -32,49 +36,40 @@ public class PawnMoveCalculator extends PieceMoveCalculator {
         }
 
         addForwardMoves(board, origin, color, direction, moves);
-        addCaptureMoves(board, origin, color, direction, moves);
-
-        return moves;
+        addCaptureMoves(board, origin, color, moves);
     }
 
     private void addForwardMoves(ChessBoard board,
-                                 ChessPosition origin,
+                                 int origin,
                                  ChessGame.TeamColor color,
                                  int direction,
-                                 Collection<ChessMove> moves) {
-        int row = origin.getRow();
-        int col = origin.getColumn();
+                                 MoveList moves) {
+        int row = origin / 8 + 1;
+        int col = origin % 8 + 1;
         int oneStepRow = row + direction;
 
         if (!isWithinBounds(oneStepRow, col)) {
             return;
         }
 
-        ChessPosition oneStepPos = new ChessPosition(oneStepRow, col);
+        ChessPosition oneStepPos = ChessPosition.of(oneStepRow, col);
         if (board.getPiece(oneStepPos) != null) {
             return;
         }
 
         if (oneStepRow == 8 || oneStepRow == 1) {
-            for (ChessPiece.PieceType type : new ChessPiece.PieceType[]{
-                    ChessPiece.PieceType.QUEEN,
-                    ChessPiece.PieceType.ROOK,
-                    ChessPiece.PieceType.BISHOP,
-                    ChessPiece.PieceType.KNIGHT
-            }) {
-                moves.add(new ChessMove(origin, oneStepPos, type));
-            }
+            addPromotions(origin, oneStepPos.index(), moves);
         } else {
-            moves.add(new ChessMove(origin, oneStepPos, null));
+            moves.add(origin, oneStepPos.index(), null);
 
             boolean onStartRank = (color == ChessGame.TeamColor.WHITE && row == 2)
                     || (color == ChessGame.TeamColor.BLACK && row == 7);
             if (onStartRank) {
                 int twoStepRow = row + 2 * direction;
                 if (isWithinBounds(twoStepRow, col)) {
-                    ChessPosition twoStepPos = new ChessPosition(twoStepRow, col);
+                    ChessPosition twoStepPos = ChessPosition.of(twoStepRow, col);
                     if (board.getPiece(twoStepPos) == null) {
-                        moves.add(new ChessMove(origin, twoStepPos, null));
+                        moves.add(origin, twoStepPos.index(), null);
                     }
                 }
             }
@@ -82,38 +77,27 @@ public class PawnMoveCalculator extends PieceMoveCalculator {
     }
 
     private void addCaptureMoves(ChessBoard board,
-                                 ChessPosition origin,
+                                 int origin,
                                  ChessGame.TeamColor color,
-                                 int direction,
-                                 Collection<ChessMove> moves) {
-        int row = origin.getRow();
-        int col = origin.getColumn();
-
-        for (int[] offset : CAPTURE_OFFSETS) {
-            int captureRow = row + direction;
-            int captureCol = col + offset[1];
-            if (!isWithinBounds(captureRow, captureCol)) {
-                continue;
-            }
-
-            ChessPosition capturePos = new ChessPosition(captureRow, captureCol);
-            ChessPiece occupant = board.getPiece(capturePos);
-            if (occupant == null || occupant.getTeamColor() == color) {
-                continue;
-            }
-
+                                 MoveList moves) {
+        ChessGame.TeamColor opponent = color == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK
+                : ChessGame.TeamColor.WHITE;
+        long targets = Attacks.pawn(color, origin) & board.teamMask(opponent);
+        for (; targets != 0; targets &= targets - 1) {
+            int capture = Long.numberOfTrailingZeros(targets);
+            int captureRow = capture / 8 + 1;
             if (captureRow == 8 || captureRow == 1) {
-                for (ChessPiece.PieceType type : new ChessPiece.PieceType[]{
-                        ChessPiece.PieceType.QUEEN,
-                        ChessPiece.PieceType.ROOK,
-                        ChessPiece.PieceType.BISHOP,
-                        ChessPiece.PieceType.KNIGHT
-                }) {
-                    moves.add(new ChessMove(origin, capturePos, type));
-                }
+                addPromotions(origin, capture, moves);
             } else {
-                moves.add(new ChessMove(origin, capturePos, null));
+                moves.add(origin, capture, null);
             }
         }
     }
-}
\ No newline at end of file
+
+    private void addPromotions(int origin, int destination, MoveList moves) {
+        for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+            moves.add(origin, destination, type);
+        }
+    }
+}
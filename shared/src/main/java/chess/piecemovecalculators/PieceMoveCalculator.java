@@ -2,62 +2,39 @@ package chess.piecemovecalculators;
 
 import chess.*;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
+/**
+ * Generates the moves a piece could make, ignoring whether they leave its king
+ * in check. Calculators hold no state, so each one is a shared singleton that
+ * any number of games and threads may use at once.
+ */
 public abstract class PieceMoveCalculator {
-    protected ChessBoard board;
-
-    public abstract Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin);
+    /**
+     * Writes the encoded moves of the piece on a square into a buffer
+     *
+     * @param board  the board the piece stands on
+     * @param origin bitboard square index of the piece
+     * @param moves  buffer the moves are appended to
+     */
+    public abstract void calculateMoves(ChessBoard board, int origin, MoveList moves);
+
+    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
+        MoveList moves = new MoveList(32);
+        calculateMoves(board, origin.index(), moves);
+        return moves.toMoves();
+    }
 
     protected boolean isWithinBounds(int row, int col) {
         return row >= 1 && row <= 8 && col >= 1 && col <= 8;
     }
 
-    protected int getMaxSteps(boolean sliding) {
-        if (sliding) {
-            return Integer.MAX_VALUE;
-        } else {
-            return 1;
-        }
-    }
-
-    protected Collection<ChessMove> generateMoves(ChessPosition origin,
-                                                  int[][] offsets,
-                                                  boolean sliding) {
-        Collection<ChessMove> moves = new ArrayList<>();
-        ChessPiece piece = board.getPiece(origin);
-        if (piece == null) {
-            return moves;
-        }
-        ChessGame.TeamColor myColor = piece.getTeamColor();
-        int startRow = origin.getRow();
-        int startCol = origin.getColumn();
-
-        for (int[] offset : offsets) {
-            int row = startRow;
-            int col = startCol;
-            int maxSteps = getMaxSteps(sliding);
-
-            for (int step = 0; step < maxSteps; step++) {
-                row += offset[0];
-                col += offset[1];
-                if (!isWithinBounds(row, col)) {
-                    break;
-                }
-
-                ChessPosition destination = new ChessPosition(row, col);
-                ChessPiece occupant = board.getPiece(destination);
-                if (occupant == null) {
-                    moves.add(new ChessMove(origin, destination, null));
-                } else {
-                    if (occupant.getTeamColor() != myColor) {
-                        moves.add(new ChessMove(origin, destination, null));
-                    }
-                    break;
-                }
-            }
+    /**
+     * Adds a move from the origin to every square in a bitboard of targets
+     */
+    protected void addMoves(int origin, long targets, MoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            moves.add(origin, Long.numberOfTrailingZeros(targets), null);
         }
-        return moves;
     }
 }
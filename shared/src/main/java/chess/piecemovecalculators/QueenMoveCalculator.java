@@ -1,32 +1,24 @@
 package chess.piecemovecalculators;
 
+import chess.Attacks;
 import chess.ChessBoard;
-import chess.ChessMove;
+import chess.ChessPiece;
 import chess.ChessPosition;
-
-import java.util.ArrayList;
-import java.util.Collection;
+import chess.MoveList;
 
 public class QueenMoveCalculator extends PieceMoveCalculator {
-    private static final int[][] DIAGONAL_OFFSETS = {
-            { 1, 1 },
-            { 1, -1 },
-            { -1, 1 },
-            { -1, -1 },
-    };
-    private static final int[][] RANK_FILE_OFFSETS = {
-            { 1, 0 },
-            { -1, 0 },
-            { 0, 1 },
-            { 0, -1 },
-    };
+    public static final QueenMoveCalculator INSTANCE = new QueenMoveCalculator();
+
+    private QueenMoveCalculator() {
+    }
 
     @Override
-    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
-        this.board = board;
-        Collection<ChessMove> moves = new ArrayList<>();
-        moves.addAll(generateMoves(origin, RANK_FILE_OFFSETS, true));
-        moves.addAll(generateMoves(origin, DIAGONAL_OFFSETS, true));
-        return moves;
+    public void calculateMoves(ChessBoard board, int origin, MoveList moves) {
+        ChessPiece queen = board.getPiece(ChessPosition.fromIndex(origin));
+        if (queen == null) {
+            return;
+        }
+        long targets = Attacks.queen(origin, board.occupiedMask());
+        addMoves(origin, targets & ~board.teamMask(queen.getTeamColor()), moves);
     }
 }
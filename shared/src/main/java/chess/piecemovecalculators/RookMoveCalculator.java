@@ -1,22 +1,24 @@
 package chess.piecemovecalculators;
 
+import chess.Attacks;
 import chess.ChessBoard;
-import chess.ChessMove;
+import chess.ChessPiece;
 import chess.ChessPosition;
-
-import java.util.Collection;
+import chess.MoveList;
 
 public class RookMoveCalculator extends PieceMoveCalculator {
-    private static final int[][] RANK_FILE_OFFSETS = {
-            { 1, 0 },
-            { -1, 0 },
-            { 0, 1 },
-            { 0, -1 },
-    };
+    public static final RookMoveCalculator INSTANCE = new RookMoveCalculator();
+
+    private RookMoveCalculator() {
+    }
 
     @Override
-    public Collection<ChessMove> calculateMoves(ChessBoard board, ChessPosition origin) {
-        this.board = board;
-        return generateMoves(origin, RANK_FILE_OFFSETS, true);
+    public void calculateMoves(ChessBoard board, int origin, MoveList moves) {
+        ChessPiece rook = board.getPiece(ChessPosition.fromIndex(origin));
+        if (rook == null) {
+            return;
+        }
+        long targets = Attacks.rook(origin, board.occupiedMask());
+        addMoves(origin, targets & ~board.teamMask(rook.getTeamColor()), moves);
     }
 }
@@ -0,0 +1,72 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttacksTest {
+    private static final int[][] RANK_FILE = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+    private static final int[][] DIAGONAL = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+
+    @Test
+    void sliderLookupsMatchRayWalk() {
+        Random random = new Random(240);
+        for (int trial = 0; trial < 2_000; trial++) {
+            long occupied = random.nextLong() & random.nextLong();
+            for (int square = 0; square < 64; square++) {
+                assertEquals(walk(square, occupied, RANK_FILE), Attacks.rook(square, occupied),
+                        "rook on " + square);
+                assertEquals(walk(square, occupied, DIAGONAL), Attacks.bishop(square, occupied),
+                        "bishop on " + square);
+            }
+        }
+    }
+
+    @Test
+    void emptyBoardRookSeesWholeRankAndFile() {
+        assertEquals(14, Long.bitCount(Attacks.rook(new ChessPosition(4, 4).index(), 0)));
+    }
+
+    @Test
+    void knightInCornerHasTwoSquares() {
+        long attacks = Attacks.knight(new ChessPosition(1, 1).index());
+        assertEquals(2, Long.bitCount(attacks));
+        assertNotEquals(0, attacks & 1L << new ChessPosition(3, 2).index());
+        assertNotEquals(0, attacks & 1L << new ChessPosition(2, 3).index());
+    }
+
+    @Test
+    void pawnsAttackForwardDiagonals() {
+        int square = new ChessPosition(4, 1).index();
+        assertEquals(1L << new ChessPosition(5, 2).index(), Attacks.pawn(ChessGame.TeamColor.WHITE, square));
+        assertEquals(1L << new ChessPosition(3, 2).index(), Attacks.pawn(ChessGame.TeamColor.BLACK, square));
+    }
+
+    @Test
+    void betweenIsEmptyOffLine() {
+        int a1 = new ChessPosition(1, 1).index();
+        int h8 = new ChessPosition(8, 8).index();
+        assertEquals(6, Long.bitCount(Attacks.between(a1, h8)));
+        assertEquals(0, Attacks.between(a1, new ChessPosition(2, 3).index()));
+    }
+
+    private static long walk(int square, long occupied, int[][] offsets) {
+        long attacks = 0;
+        for (int[] offset : offsets) {
+            int row = square / 8 + offset[0];
+            int col = square % 8 + offset[1];
+            while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                long bit = 1L << (row * 8 + col);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += offset[0];
+                col += offset[1];
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,85 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChessGameCodecTest {
+
+    @Test
+    void startPositionRoundTrips() {
+        ChessGame game = new ChessGame();
+        byte[] encoded = ChessGameCodec.encode(game);
+        assertEquals(27, encoded.length);
+        assertEquals(game, ChessGameCodec.decode(encoded));
+    }
+
+    @Test
+    void playedGamesRoundTrip() {
+        RandomGames.play(11, 120, (game, ply) -> {
+            ChessGame decoded = ChessGameCodec.decode(ChessGameCodec.encode(game));
+            assertEquals(game, decoded, "ply " + ply);
+            assertEquals(game.positionKey(), decoded.positionKey());
+        });
+    }
+
+    @Test
+    void oddPieceCountAndBlackToMove() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(2, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        ChessGame game = new ChessGame(board, ChessGame.TeamColor.BLACK);
+
+        ChessGame decoded = ChessGameCodec.decode(ChessGameCodec.encode(game));
+        assertEquals(game, decoded);
+        assertEquals(ChessGame.TeamColor.BLACK, decoded.getTeamTurn());
+    }
+
+    @Test
+    void emptyBoardRoundTrips() {
+        ChessGame game = new ChessGame(new ChessBoard(), ChessGame.TeamColor.WHITE);
+        assertEquals(game, ChessGameCodec.decode(ChessGameCodec.encode(game)));
+    }
+
+    @Test
+    void muchSmallerThanJson() {
+        ChessGame game = new ChessGame();
+        int json = new Gson().toJson(game).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(ChessGameCodec.encode(game).length * 10 < json);
+    }
+
+    @Test
+    void rejectsForeignData() {
+        byte[] json = new Gson().toJson(new ChessGame()).getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> ChessGameCodec.decode(json));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = ChessGameCodec.encode(new ChessGame());
+        encoded[1] = (byte) (ChessGameCodec.VERSION + 1);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> ChessGameCodec.decode(encoded));
+        assertTrue(ex.getMessage().startsWith("Unsupported game encoding version"));
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] encoded = ChessGameCodec.encode(new ChessGame());
+        assertThrows(IllegalArgumentException.class,
+                () -> ChessGameCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+
+    @Test
+    void rejectsTrailingData() {
+        byte[] encoded = ChessGameCodec.encode(new ChessGame());
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> ChessGameCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        assertTrue(ex.getMessage().contains("trailing"));
+    }
+}
@@ -0,0 +1,82 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationTest {
+
+    @Test
+    void startPositionIsBalanced() {
+        assertEquals(0, new ChessGame().getBoard().evaluate());
+    }
+
+    @Test
+    void colorsMirrorEachOther() {
+        ChessPiece whiteKnight = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
+        ChessPiece blackKnight = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+        for (int square = 0; square < 64; square++) {
+            assertEquals(Evaluation.score(whiteKnight, square), -Evaluation.score(blackKnight, square ^ 56));
+        }
+    }
+
+    @Test
+    void tablesFavorGoodSquares() {
+        ChessPiece knight = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
+        assertTrue(Evaluation.score(knight, new ChessPosition(4, 5).index())
+                > Evaluation.score(knight, new ChessPosition(1, 1).index()));
+        ChessPiece pawn = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        assertTrue(Evaluation.score(pawn, new ChessPosition(7, 1).index())
+                > Evaluation.score(pawn, new ChessPosition(2, 1).index()));
+    }
+
+    @Test
+    void captureShiftsScore() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 5, 4, 5));
+        game.makeMove(move(7, 4, 5, 4));
+        game.makeMove(move(4, 5, 5, 4));
+        assertTrue(game.getBoard().evaluate() > 80);
+    }
+
+    @Test
+    void incrementalScoreMatchesRecount() {
+        RandomGames.play(7, 200, (game, ply) ->
+                assertEquals(recount(game.getBoard()), game.getBoard().evaluate(), "ply " + ply));
+    }
+
+    @Test
+    void unmakeRestoresScore() {
+        ChessGame game = new ChessGame();
+        int before = game.getBoard().evaluate();
+        MoveUndo undo = game.makeMoveUnchecked(move(2, 5, 4, 5));
+        assertNotEquals(before, game.getBoard().evaluate());
+        game.unmakeMove(undo);
+        assertEquals(before, game.getBoard().evaluate());
+    }
+
+    @Test
+    void deserializedBoardScores() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 4, 4, 4));
+        Gson gson = new Gson();
+        ChessGame restored = gson.fromJson(gson.toJson(game), ChessGame.class);
+        assertEquals(game.getBoard().evaluate(), restored.getBoard().evaluate());
+    }
+
+    private static int recount(ChessBoard board) {
+        int score = 0;
+        for (ChessPosition position : board.getAllPositions()) {
+            ChessPiece piece = board.getPiece(position);
+            if (piece != null) {
+                score += Evaluation.score(piece, position.index());
+            }
+        }
+        return score;
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol) {
+        return new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), null);
+    }
+}
@@ -0,0 +1,57 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStatusTest {
+
+    @Test
+    void newGameInProgress() {
+        ChessGame game = new ChessGame();
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus());
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    void statusFollowsMoves() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 6, 3, 6));
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus());
+        game.makeMove(move(7, 5, 5, 5));
+        game.makeMove(move(2, 7, 4, 7));
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus());
+
+        game.makeMove(move(8, 4, 4, 8));
+        assertEquals(GameStatus.CHECKMATE, game.getGameStatus());
+        assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    void checkWithEscape() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(5, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        ChessGame game = new ChessGame(board, ChessGame.TeamColor.WHITE);
+        assertEquals(GameStatus.CHECK, game.getGameStatus());
+    }
+
+    @Test
+    void stalemate() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(new ChessPosition(6, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        board.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        ChessGame game = new ChessGame(board, ChessGame.TeamColor.BLACK);
+        assertEquals(GameStatus.STALEMATE, game.getGameStatus());
+
+        board.addPiece(new ChessPosition(6, 7), null);
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus());
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol) {
+        return new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), null);
+    }
+}
@@ -0,0 +1,42 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalMoveCacheTest {
+
+    @Test
+    void returnsStoredMoves() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        int[] moves = {1, 2, 3};
+        cache.put(42L, moves);
+        assertSame(moves, cache.get(42L));
+    }
+
+    @Test
+    void missesUnknownKey() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        assertNull(cache.get(42L));
+    }
+
+    @Test
+    void newEntryReplacesSameSlot() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        cache.put(1L, new int[] {1});
+        cache.put(17L, new int[] {17});
+        assertNull(cache.get(1L));
+        assertArrayEquals(new int[] {17}, cache.get(17L));
+    }
+
+    @Test
+    void validMovesFollowBoardChanges() {
+        ChessGame game = new ChessGame();
+        ChessPosition knight = new ChessPosition(1, 2);
+        assertEquals(2, game.validMoves(knight).size());
+
+        game.getBoard().addPiece(new ChessPosition(3, 1), new ChessPiece(ChessGame.TeamColor.WHITE,
+                ChessPiece.PieceType.PAWN));
+        assertEquals(1, game.validMoves(knight).size());
+    }
+}
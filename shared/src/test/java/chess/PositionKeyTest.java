@@ -0,0 +1,60 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionKeyTest {
+
+    @Test
+    void equalPositionsShareKey() {
+        assertEquals(new ChessGame().positionKey(), new ChessGame().positionKey());
+    }
+
+    @Test
+    void sideToMoveChangesKey() {
+        ChessGame white = new ChessGame();
+        ChessGame black = new ChessGame();
+        black.setTeamTurn(ChessGame.TeamColor.BLACK);
+        assertNotEquals(white.positionKey(), black.positionKey());
+        assertEquals(white.getBoard().zobristKey(), black.getBoard().zobristKey());
+    }
+
+    @Test
+    void incrementalKeyMatchesFreshBoard() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 4), new ChessPosition(5, 4), null));
+        game.makeMove(new ChessMove(new ChessPosition(4, 5), new ChessPosition(5, 4), null));
+
+        ChessBoard rebuilt = new ChessBoard();
+        for (ChessPosition position : game.getBoard().getAllPositions()) {
+            ChessPiece piece = game.getBoard().getPiece(position);
+            if (piece != null) {
+                rebuilt.addPiece(position, piece);
+            }
+        }
+        assertEquals(rebuilt.zobristKey(), game.getBoard().zobristKey());
+    }
+
+    @Test
+    void unmakeRestoresKey() {
+        ChessGame game = new ChessGame();
+        long before = game.positionKey();
+        MoveUndo undo = game.makeMoveUnchecked(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        assertNotEquals(before, game.positionKey());
+        game.unmakeMove(undo);
+        assertEquals(before, game.positionKey());
+    }
+
+    @Test
+    void keySurvivesJsonRoundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 4), new ChessPosition(4, 4), null));
+        Gson gson = new Gson();
+        ChessGame restored = gson.fromJson(gson.toJson(game), ChessGame.class);
+        assertEquals(game.positionKey(), restored.positionKey());
+        assertEquals(game, restored);
+    }
+}
@@ -0,0 +1,34 @@
+package chess;
+
+import java.util.Random;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Plays seeded random games, for tests that check a property holds in every
+ * position a game passes through
+ */
+final class RandomGames {
+    private RandomGames() {
+    }
+
+    /**
+     * Plays random legal moves from the starting position until the game ends
+     * or the ply limit is reached, with the same moves for the same seed
+     *
+     * @param afterMove called after each move with the game and the ply just played, from 0
+     */
+    static void play(long seed, int maxPlies, ObjIntConsumer<ChessGame> afterMove) {
+        Random random = new Random(seed);
+        ChessGame game = new ChessGame();
+        MoveList moves = new MoveList();
+        for (int ply = 0; ply < maxPlies; ply++) {
+            moves.clear();
+            game.legalMoves(game.getTeamTurn(), moves);
+            if (moves.isEmpty()) {
+                return;
+            }
+            game.makeMoveUnchecked(ChessMove.decode(moves.get(random.nextInt(moves.size()))));
+            afterMove.accept(game, ply);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEngineTest {
+
+    @Test
+    void findsMateInOne() {
+        ChessGame game = load("""
+                | | | | | | |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |P|P|P|
+                |R| | | | | |K| |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new SearchEngine().search(game, SearchLimits.depth(3));
+        assertEquals(move(1, 1, 8, 1, null), result.bestMove());
+        assertEquals(SearchEngine.MATE - 1, result.score());
+        assertTrue(result.isMate());
+    }
+
+    @Test
+    void capturesHangingQueen() {
+        ChessGame game = load("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |q| | | |
+                | | | | | | | | |
+                | | | | | |N| | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new SearchEngine().search(game, SearchLimits.depth(2));
+        assertEquals(move(3, 6, 5, 5, null), result.bestMove());
+        assertTrue(result.score() > 0);
+    }
+
+    @Test
+    void promotesToQueen() {
+        ChessGame game = load("""
+                | | | | | | | | |
+                | | |P| | | | |k|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |K| | | | | | | |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new SearchEngine().search(game, SearchLimits.depth(2));
+        assertEquals(move(7, 3, 8, 3, ChessPiece.PieceType.QUEEN), result.bestMove());
+    }
+
+    @Test
+    void checkmatedSideHasNoMove() {
+        ChessGame game = load("""
+                |R| | | | | |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |P|P|P|
+                | | | | | | |K| |
+                """, ChessGame.TeamColor.BLACK);
+        SearchResult result = new SearchEngine().search(game, SearchLimits.depth(4));
+        assertNull(result.bestMove());
+        assertEquals(-SearchEngine.MATE, result.score());
+    }
+
+    @Test
+    void stalemateScoresZero() {
+        ChessGame game = load("""
+                | | | | | | | |k|
+                | | | | | | | | |
+                | | | | | | |Q| |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |K| | | | | | | |
+                """, ChessGame.TeamColor.BLACK);
+        SearchResult result = new SearchEngine().search(game, SearchLimits.depth(3));
+        assertNull(result.bestMove());
+        assertEquals(0, result.score());
+    }
+
+    @Test
+    void nodeBudgetStopsSearch() {
+        SearchResult result = new SearchEngine().search(new ChessGame(), SearchLimits.nodes(5_000));
+        assertNotNull(result.bestMove());
+        assertTrue(result.nodes() <= 5_000);
+        assertTrue(result.depth() < SearchLimits.MAX_DEPTH);
+    }
+
+    @Test
+    void tinyBudgetStillReturnsMove() {
+        SearchResult result = new SearchEngine().search(new ChessGame(), SearchLimits.nodes(1));
+        assertNotNull(result.bestMove());
+    }
+
+    @Test
+    void timeBudgetStopsSearch() {
+        SearchResult result = new SearchEngine().search(new ChessGame(), SearchLimits.millis(100));
+        assertNotNull(result.bestMove());
+        assertTrue(result.nanos() < 2_000_000_000L);
+    }
+
+    @Test
+    void searchLeavesGameUnchanged() {
+        ChessGame game = new ChessGame();
+        new SearchEngine().search(game, SearchLimits.depth(3));
+        assertEquals(new ChessGame(), game);
+    }
+
+    @Test
+    void singleThreadIsDeterministic() {
+        SearchResult first = new SearchEngine(new TranspositionTable(4)).search(new ChessGame(), SearchLimits.depth(4));
+        SearchResult second = new SearchEngine(new TranspositionTable(4)).search(new ChessGame(), SearchLimits.depth(4));
+        assertEquals(first.bestMove(), second.bestMove());
+        assertEquals(first.score(), second.score());
+        assertEquals(first.nodes(), second.nodes());
+    }
+
+    @Test
+    void helperThreadsFindSameMate() {
+        ChessGame game = load("""
+                | | | | | | |k| |
+                | | | | | |p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |P|P|P|
+                |R| | | | | |K| |
+                """, ChessGame.TeamColor.WHITE);
+        SearchResult result = new SearchEngine(new TranspositionTable(4), 4).search(game, SearchLimits.depth(4));
+        assertEquals(move(1, 1, 8, 1, null), result.bestMove());
+        assertEquals(SearchEngine.MATE - 1, result.score());
+    }
+
+    @Test
+    void helperThreadsStopWithMainThread() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(4), 4);
+        ChessGame game = new ChessGame();
+        SearchResult result = engine.search(game, SearchLimits.millis(100));
+        assertNotNull(result.bestMove());
+        assertTrue(game.validMoves(result.bestMove().getStartPosition()).contains(result.bestMove()));
+        assertTrue(result.nanos() < 2_000_000_000L);
+
+        SearchResult byDepth = engine.search(game, SearchLimits.depth(3));
+        assertEquals(3, byDepth.depth());
+        assertEquals(new ChessGame(), game);
+    }
+
+    @Test
+    void rejectsNoThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchEngine(new TranspositionTable(1), 0));
+    }
+
+    @Test
+    void rejectsBadLimits() {
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.depth(0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.millis(-1));
+    }
+
+    private static ChessGame load(String board, ChessGame.TeamColor turn) {
+        return new ChessGame(TestUtilities.loadBoard(board), turn);
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol, ChessPiece.PieceType promotion) {
+        return new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), promotion);
+    }
+}
@@ -0,0 +1,93 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+    // Three keys that share a bucket in any table of up to 2^20 buckets
+    private static final long KEY_A = 0x1234_0000_0000_0005L;
+    private static final long KEY_B = 0x5678_0000_0000_0005L;
+    private static final long KEY_C = 0x9ABC_0000_0000_0005L;
+
+    @Test
+    void storedEntryReadsBack() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null).encode();
+        table.store(KEY_A, 7, -1234, TranspositionTable.LOWER, move);
+
+        long entry = table.probe(KEY_A);
+        assertNotEquals(TranspositionTable.MISS, entry);
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(-1234, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(move, TranspositionTable.move(entry));
+    }
+
+    @Test
+    void unknownKeyMisses() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY_A, 1, 0, TranspositionTable.EXACT, 0);
+        assertEquals(TranspositionTable.MISS, table.probe(KEY_B));
+    }
+
+    @Test
+    void deeperEntrySurvivesShallowerOnes() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY_A, 8, 10, TranspositionTable.EXACT, 0);
+        table.store(KEY_B, 2, 20, TranspositionTable.EXACT, 0);
+        table.store(KEY_C, 3, 30, TranspositionTable.EXACT, 0);
+
+        assertEquals(10, TranspositionTable.score(table.probe(KEY_A)));
+        assertEquals(TranspositionTable.MISS, table.probe(KEY_B));
+        assertEquals(30, TranspositionTable.score(table.probe(KEY_C)));
+    }
+
+    @Test
+    void newSearchLetsOldEntriesBeReplaced() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY_A, 8, 10, TranspositionTable.EXACT, 0);
+        table.newSearch();
+        table.store(KEY_B, 2, 20, TranspositionTable.EXACT, 0);
+        table.store(KEY_C, 1, 30, TranspositionTable.EXACT, 0);
+
+        assertEquals(TranspositionTable.MISS, table.probe(KEY_A));
+        assertEquals(20, TranspositionTable.score(table.probe(KEY_B)));
+        assertEquals(30, TranspositionTable.score(table.probe(KEY_C)));
+    }
+
+    @Test
+    void restoringKeepsKnownMove() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY_A, 4, 10, TranspositionTable.EXACT, 1234);
+        table.store(KEY_A, 5, 15, TranspositionTable.UPPER, 0);
+        long entry = table.probe(KEY_A);
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(1234, TranspositionTable.move(entry));
+    }
+
+    @Test
+    void clearEmptiesTable() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY_A, 4, 10, TranspositionTable.EXACT, 0);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(KEY_A));
+    }
+
+    @Test
+    void repeatSearchReusesTable() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(4));
+        SearchResult first = engine.search(new ChessGame(), SearchLimits.depth(4));
+        SearchResult second = engine.search(new ChessGame(), SearchLimits.depth(4));
+        assertEquals(first.score(), second.score());
+        assertTrue(second.nodes() < first.nodes());
+    }
+
+    @Test
+    void rejectsBadSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+}
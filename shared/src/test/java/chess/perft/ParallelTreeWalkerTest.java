@@ -0,0 +1,60 @@
+package chess.perft;
+
+import chess.ChessGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTreeWalkerTest {
+
+    @Test
+    void countsMatchSerialPerft() {
+        ParallelTreeWalker walker = new ParallelTreeWalker();
+        for (PerftPosition position : PerftPosition.values()) {
+            int maxDepth = Math.min(position.maxKnownDepth(), 4);
+            for (int depth = 0; depth <= maxDepth; depth++) {
+                assertEquals(new Perft(position.newGame()).count(depth).nodes(),
+                        walker.countNodes(position.newGame(), depth).nodes(),
+                        position + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void splitDepthDoesNotChangeCount() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int split = 0; split <= 4; split++) {
+                assertEquals(PerftPosition.PROMOTIONS.expectedNodes(3),
+                        new ParallelTreeWalker(pool, split).countNodes(PerftPosition.PROMOTIONS.newGame(), 3).nodes(),
+                        "split " + split);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sumLeavesVisitsEveryLeaf() {
+        ParallelTreeWalker walker = new ParallelTreeWalker();
+        assertEquals(PerftPosition.START.expectedNodes(3),
+                walker.sumLeaves(new ChessGame(), 3, game -> 1));
+    }
+
+    @Test
+    void sumLeavesCountsChecks() {
+        // 12 of the 8902 positions after three plies from the start leave the side to move in check
+        long checks = new ParallelTreeWalker().sumLeaves(new ChessGame(), 3,
+                game -> game.isInCheck(game.getTeamTurn()) ? 1 : 0);
+        assertEquals(12, checks);
+    }
+
+    @Test
+    void rootGameUnchanged() {
+        ChessGame game = PerftPosition.PROMOTIONS.newGame();
+        new ParallelTreeWalker().countNodes(game, 3);
+        assertEquals(PerftPosition.PROMOTIONS.newGame(), game);
+    }
+}
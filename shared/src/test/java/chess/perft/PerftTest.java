@@ -0,0 +1,57 @@
+package chess.perft;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    @Test
+    void startPositionMatchesPublishedCounts() {
+        assertCounts(PerftPosition.START, 4);
+    }
+
+    @Test
+    void endgamePositionMatchesPublishedCounts() {
+        assertCounts(PerftPosition.ENDGAME, 2);
+    }
+
+    @Test
+    void promotionPositionMatchesPublishedCounts() {
+        assertCounts(PerftPosition.PROMOTIONS, 3);
+    }
+
+    @Test
+    void depthZeroCountsRoot() {
+        assertEquals(1, new Perft(new ChessGame()).count(0).nodes());
+    }
+
+    @Test
+    void divideSumsToTotal() {
+        Perft perft = new Perft(PerftPosition.START.newGame());
+        Map<ChessMove, Long> divided = perft.divide(3);
+        assertEquals(20, divided.size());
+        long total = divided.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(PerftPosition.START.expectedNodes(3), total);
+    }
+
+    @Test
+    void countLeavesGameUnchanged() {
+        ChessGame game = PerftPosition.PROMOTIONS.newGame();
+        ChessGame before = PerftPosition.PROMOTIONS.newGame();
+        new Perft(game).count(3);
+        assertEquals(before, game);
+    }
+
+    private void assertCounts(PerftPosition position, int maxDepth) {
+        Perft perft = new Perft(position.newGame());
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            assertEquals(position.expectedNodes(depth), perft.count(depth).nodes(),
+                    position + " perft(" + depth + ")");
+        }
+    }
+}
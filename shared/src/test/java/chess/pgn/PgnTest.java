@@ -0,0 +1,197 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.GameStatus;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgnTest {
+    private static final String GAMES = """
+            [Event "Casual \\"blitz\\""]
+            [White "Alice"]
+            [Black "Bob"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Bc4 {aiming at f7} Nc6 3. Qh5 $2 (3. Nf3 Nf6 (3... Bc5) 4. d3)
+            3... Nf6?? ; loses at once
+            4. Qxf7# 1-0
+
+            % an escaped line that readers must skip
+            [Event "Second"]
+            [Result "*"]
+
+            1.d4 d5 2.c4 e6 3.Nc3 Nf6 4.Bg5 Be7 5.e3 h6 6.Bh4 b6 *
+            """;
+
+    @Test
+    void readsGamesInOrder() throws IOException, PgnException, InvalidMoveException {
+        try (PgnReader reader = new PgnReader(new StringReader(GAMES))) {
+            PgnGame first = reader.next();
+            assertEquals("Casual \"blitz\"", first.tags().get("Event"));
+            assertEquals("Alice", first.tags().get("White"));
+            assertEquals("1-0", first.result());
+            assertEquals(7, first.moves().size());
+            assertEquals(GameStatus.CHECKMATE, first.play().getGameStatus());
+
+            PgnGame second = reader.next();
+            assertEquals("Second", second.tags().get("Event"));
+            assertEquals("*", second.result());
+            assertEquals(12, second.moves().size());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void skipsBadGameAndCarriesOn() throws IOException, PgnException {
+        String text = """
+                [Event "Bad"]
+
+                1. e4 e5 2. Ke3 Nc6 3. Nf3 *
+
+                [Event "Good"]
+
+                1. e4 e5 *
+                """;
+        try (PgnReader reader = new PgnReader(new StringReader(text))) {
+            PgnException ex = assertThrows(PgnException.class, reader::next);
+            assertTrue(ex.getMessage().contains("Ke3"));
+            PgnGame good = reader.next();
+            assertEquals("Good", good.tags().get("Event"));
+            assertEquals(2, good.moves().size());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void rejectsMalformedTag() throws IOException, PgnException {
+        String text = """
+                [Event "Unterminated]
+                1. e4 *
+
+                [Event "Fine"]
+                1. d4 *
+                """;
+        try (PgnReader reader = new PgnReader(new StringReader(text))) {
+            assertThrows(PgnException.class, reader::next);
+            assertEquals("Fine", reader.next().tags().get("Event"));
+        }
+    }
+
+    @Test
+    void readsFromFenTag() throws IOException, PgnException, InvalidMoveException {
+        String text = """
+                [FEN "6k1/5ppp/8/8/8/8/8/R5K1 b - - 0 1"]
+
+                1... h6 2. Ra8+ Kh7 *
+                """;
+        try (PgnReader reader = new PgnReader(new StringReader(text))) {
+            PgnGame game = reader.next();
+            assertEquals(3, game.moves().size());
+            assertEquals(GameStatus.IN_PROGRESS, game.play().getGameStatus());
+        }
+    }
+
+    @Test
+    void writtenGamesReadBack() throws IOException, PgnException, InvalidMoveException {
+        List<PgnGame> games = new ArrayList<>();
+        try (PgnReader reader = new PgnReader(new StringReader(GAMES))) {
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                games.add(game);
+            }
+        }
+
+        StringWriter text = new StringWriter();
+        try (PgnWriter writer = new PgnWriter(text)) {
+            for (PgnGame game : games) {
+                writer.write(game);
+            }
+        }
+        assertTrue(text.toString().startsWith("""
+                [Event "Casual \\"blitz\\""]
+                [Site "?"]
+                [Date "????.??.??"]
+                [Round "?"]
+                [White "Alice"]
+                [Black "Bob"]
+                [Result "1-0"]
+
+                1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0
+                """));
+
+        try (PgnReader reader = new PgnReader(new StringReader(text.toString()))) {
+            for (PgnGame game : games) {
+                PgnGame read = reader.next();
+                assertEquals(game.moves(), read.moves());
+                assertEquals(game.result(), read.result());
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void writesBlackFirstMoveAndWrapsLines() throws IOException, InvalidMoveException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("FEN", "6k1/5ppp/8/8/8/8/8/R5K1 b - - 0 1");
+        List<ChessMove> moves = new ArrayList<>();
+        ChessGame game = ChessGame.fromFen(tags.get("FEN"));
+        for (int i = 0; i < 40; i++) {
+            // Shuffle the black king and the white rook back and forth
+            String san = switch (i % 4) {
+                case 0 -> "Kf8";
+                case 1 -> "Rb1";
+                case 2 -> "Kg8";
+                default -> "Ra1";
+            };
+            ChessMove move = San.parse(game, san);
+            game.makeMoveUnchecked(move);
+            moves.add(move);
+        }
+
+        StringWriter text = new StringWriter();
+        try (PgnWriter writer = new PgnWriter(text)) {
+            writer.write(new PgnGame(tags, moves, "1/2-1/2"));
+        }
+        String movetext = text.toString().substring(text.toString().indexOf("\n\n") + 2);
+        assertTrue(movetext.startsWith("1... Kf8 2. Rb1 Kg8 3. Ra1 Kf8"), movetext);
+        for (String line : movetext.split("\n")) {
+            assertTrue(line.length() <= 80, line);
+        }
+        assertTrue(movetext.trim().endsWith("1/2-1/2"));
+        assertTrue(text.toString().contains("[FEN \"6k1/5ppp/8/8/8/8/8/R5K1 b - - 0 1\"]"));
+    }
+
+    @Test
+    void writerRejectsIllegalGame() {
+        PgnGame game = new PgnGame(Map.of(), List.of(new ChessMove(
+                new ChessPosition(2, 5), new ChessPosition(5, 5), null)), "*");
+        StringWriter text = new StringWriter();
+        PgnWriter writer = new PgnWriter(text);
+        assertThrows(InvalidMoveException.class, () -> writer.write(game));
+    }
+
+    @Test
+    void readsManyGamesFromStream() throws IOException, PgnException {
+        String game = "[Event \"Repeat\"]\n\n1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 1/2-1/2\n\n";
+        int count = 0;
+        try (PgnReader reader = new PgnReader(new StringReader(game.repeat(2_000)))) {
+            for (PgnGame read = reader.next(); read != null; read = reader.next()) {
+                assertEquals(6, read.moves().size());
+                count++;
+            }
+        }
+        assertEquals(2_000, count);
+    }
+}
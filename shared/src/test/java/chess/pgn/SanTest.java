@@ -0,0 +1,89 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SanTest {
+    // White rooks on a1 and h1 (both reach c1 and d1), knights on b3 and f3 (both reach d2),
+    // and a pawn on e7 beside a black queen on d8
+    private static final String POSITION = "3q2k1/4P3/8/8/8/1N3N2/4K3/R6R w - - 0 1";
+
+    @Test
+    void parsesPawnPushes() throws InvalidMoveException {
+        assertEquals(move(2, 5, 4, 5, null), San.parse(new ChessGame(), "e4"));
+        assertEquals(move(2, 5, 3, 5, null), San.parse(new ChessGame(), "e3"));
+    }
+
+    @Test
+    void parsesPieceMovesAndSuffixes() throws InvalidMoveException {
+        assertEquals(move(1, 7, 3, 6, null), San.parse(new ChessGame(), "Nf3!?"));
+        assertEquals(move(1, 7, 3, 6, null), San.parse(new ChessGame(), "Ng1f3+"));
+    }
+
+    @Test
+    void parsesDisambiguation() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen(POSITION);
+        assertEquals(move(3, 2, 2, 4, null), San.parse(game, "Nbd2"));
+        assertEquals(move(3, 6, 2, 4, null), San.parse(game, "Nfd2"));
+        assertEquals(move(1, 1, 1, 3, null), San.parse(game, "Rac1"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "Nd2"));
+    }
+
+    @Test
+    void parsesPromotions() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen(POSITION);
+        assertEquals(move(7, 5, 8, 5, ChessPiece.PieceType.QUEEN), San.parse(game, "e8=Q+"));
+        assertEquals(move(7, 5, 8, 5, ChessPiece.PieceType.KNIGHT), San.parse(game, "e8N"));
+        assertEquals(move(7, 5, 8, 4, ChessPiece.PieceType.ROOK), San.parse(game, "exd8=R"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "e8"));
+    }
+
+    @Test
+    void rejectsBadMoves() {
+        ChessGame game = new ChessGame();
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "e5"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "Ke2"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "O-O"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "Zz9"));
+        assertThrows(InvalidMoveException.class, () -> San.parse(game, "x"));
+    }
+
+    @Test
+    void formatsWithDisambiguation() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen(POSITION);
+        assertEquals("Nbd2", San.format(game, move(3, 2, 2, 4, null)));
+        assertEquals("Nfd2", San.format(game, move(3, 6, 2, 4, null)));
+        assertEquals("Rad1", San.format(game, move(1, 1, 1, 4, null)));
+        assertEquals("Ng5", San.format(game, move(3, 6, 5, 7, null)));
+
+        ChessGame ranks = ChessGame.fromFen("7k/8/8/R7/8/8/8/R3K3 w - - 0 1");
+        assertEquals("R1a3", San.format(ranks, move(1, 1, 3, 1, null)));
+    }
+
+    @Test
+    void formatsCapturesPromotionsAndChecks() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen(POSITION);
+        assertEquals("exd8=Q+", San.format(game, move(7, 5, 8, 4, ChessPiece.PieceType.QUEEN)));
+        assertEquals("e8=N", San.format(game, move(7, 5, 8, 5, ChessPiece.PieceType.KNIGHT)));
+        assertEquals(ChessGame.fromFen(POSITION), game);
+
+        ChessGame mate = ChessGame.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        assertEquals("Ra8#", San.format(mate, move(1, 1, 8, 1, null)));
+    }
+
+    @Test
+    void formatRejectsIllegalMove() {
+        assertThrows(InvalidMoveException.class, () -> San.format(new ChessGame(), move(2, 5, 5, 5, null)));
+        assertThrows(InvalidMoveException.class, () -> San.format(new ChessGame(), move(4, 4, 5, 4, null)));
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol, ChessPiece.PieceType promotion) {
+        return new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), promotion);
+    }
+}